@@ -0,0 +1,80 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ordered ahead of the transaction interceptor so that every attempt runs in a fresh transaction
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConflictRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.retry.initial-backoff-ms:25}")
+    private long initialBackoffMs;
+
+    @Value("${app.retry.max-backoff-ms:250}")
+    private long maxBackoffMs;
+
+    @Around("@annotation(guy.shalev.ATnT.Home.assignment.concurrency.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The caller owns the transaction, so only the caller can retry it
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getSignature().toShortString();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("app.retry.exhausted", "operation", operation).increment();
+                    throw new ConflictException(ErrorCode.CONCURRENT_MODIFICATION,
+                            "Operation failed after " + attempt + " attempts due to concurrent updates");
+                }
+                meterRegistry.counter("app.retry.attempts", "operation", operation).increment();
+                long backoffMs = backoffMillis(attempt);
+                log.debug("Retrying {} after {} (attempt {}/{}, backoff {} ms)",
+                        operation, e.getClass().getSimpleName(), attempt, maxAttempts, backoffMs);
+                sleep(backoffMs);
+            }
+        }
+    }
+
+    // Exponential backoff with full jitter
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(ErrorCode.CONCURRENT_MODIFICATION, "Interrupted while waiting to retry");
+        }
+    }
+}
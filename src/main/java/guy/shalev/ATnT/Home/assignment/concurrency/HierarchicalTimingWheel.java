@@ -0,0 +1,165 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel keyed by {@code K}. Scheduling and cancelling are O(1); advancing the clock
+ * only touches the slots that come due, so expiring a large number of keys costs nothing per idle key.
+ * <p>
+ * Level {@code l} has {@code wheelSize} slots each spanning {@code wheelSize^l} ticks. Entries further out
+ * than the top level can reach wait in an overflow list that is re-examined each time the top level wraps.
+ * Cancellation is lazy: cancelled entries stay in their slot and are skipped when the slot is processed.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final List<ArrayDeque<Entry<K>>> slots;
+    private final List<Entry<K>> overflow = new ArrayList<>();
+    private final Map<K, Entry<K>> scheduled = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        if (levels <= 0 || Integer.numberOfTrailingZeros(wheelSize) * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Wheel must have between one level and a 62-bit horizon");
+        }
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.slots = new ArrayList<>(wheelSize * levels);
+        for (int i = 0; i < wheelSize * levels; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMs}, replacing any earlier schedule for the same key.
+     */
+    public void schedule(K key, long deadlineMs) {
+        lock.lock();
+        try {
+            cancel(key);
+            // Round up so that a key never expires before its deadline
+            long deadlineTick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+            Entry<K> entry = new Entry<>(key, deadlineTick);
+            scheduled.put(key, entry);
+            place(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = scheduled.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            entry.cancelled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return scheduled.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns every key whose deadline has passed.
+     */
+    public List<K> advance(long nowMs) {
+        lock.lock();
+        try {
+            long targetTick = nowMs / tickMs;
+            List<K> expired = new ArrayList<>();
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                ArrayDeque<Entry<K>> due = slots.get(slotIndex(0, currentTick));
+                for (Entry<K> entry = due.poll(); entry != null; entry = due.poll()) {
+                    if (!entry.cancelled) {
+                        scheduled.remove(entry.key);
+                        expired.add(entry.key);
+                    }
+                }
+            }
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cascade() {
+        if (isAligned(levels)) {
+            List<Entry<K>> waiting = new ArrayList<>(overflow);
+            overflow.clear();
+            waiting.forEach(this::replace);
+        }
+        for (int level = levels - 1; level > 0; level--) {
+            if (isAligned(level)) {
+                ArrayDeque<Entry<K>> slot = slots.get(slotIndex(level, currentTick));
+                for (Entry<K> entry = slot.poll(); entry != null; entry = slot.poll()) {
+                    replace(entry);
+                }
+            }
+        }
+    }
+
+    private boolean isAligned(int level) {
+        return (currentTick & ((1L << (bits * level)) - 1)) == 0;
+    }
+
+    private void replace(Entry<K> entry) {
+        if (!entry.cancelled) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        // Lowest level whose current rotation still contains the deadline
+        for (int level = 0; level < levels; level++) {
+            int shift = bits * (level + 1);
+            if (entry.deadlineTick >>> shift == currentTick >>> shift) {
+                slots.get(slotIndex(level, entry.deadlineTick)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private int slotIndex(int level, long tick) {
+        return level * (mask + 1) + (int) ((tick >>> (bits * level)) & mask);
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
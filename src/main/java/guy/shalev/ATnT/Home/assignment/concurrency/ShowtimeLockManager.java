@@ -0,0 +1,116 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process replacement for the showtime row lock when the application runs as a single node.
+ * Showtime ids are hashed onto a fixed set of fair lock stripes; locks are held until the surrounding
+ * transaction completes, mirroring how the database would hold a row lock.
+ */
+@Slf4j
+@Component
+public class ShowtimeLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+    private final long slowWaitMs;
+    private final Timer waitTimer;
+
+    public ShowtimeLockManager(MeterRegistry meterRegistry,
+                               @Value("${app.lock.stripes:64}") int stripeCount,
+                               @Value("${app.lock.timeout-ms:2000}") long timeoutMs,
+                               @Value("${app.lock.slow-wait-ms:100}") long slowWaitMs) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.timeoutMs = timeoutMs;
+        this.slowWaitMs = slowWaitMs;
+        this.waitTimer = Timer.builder("app.lock.wait")
+                .description("Time spent waiting for a showtime lock stripe")
+                .register(meterRegistry);
+        Gauge.builder("app.lock.queue.depth", this, ShowtimeLockManager::queueDepth)
+                .description("Threads currently waiting on any showtime lock stripe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Locks the stripes of the given showtimes and releases them when the current transaction ends.
+     * Stripes are always taken in index order so that multi-showtime callers cannot deadlock each other.
+     */
+    public void lockUntilTransactionEnds(Collection<Long> showtimeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Showtime locks can only be taken inside a transaction");
+        }
+
+        int[] stripeIndexes = showtimeIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripeIndexes.length);
+        try {
+            for (int index : stripeIndexes) {
+                acquire(stripes[index], showtimeIds);
+                acquired.add(stripes[index]);
+            }
+        } catch (RuntimeException e) {
+            acquired.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock, Collection<Long> showtimeIds) {
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(ErrorCode.LOCK_TIMEOUT, "Interrupted while waiting for showtime " + showtimeIds);
+        }
+
+        long waitedNanos = System.nanoTime() - start;
+        waitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+        if (!locked) {
+            throw new ConflictException(ErrorCode.LOCK_TIMEOUT,
+                    "Showtime " + showtimeIds + " is busy, please try again");
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(waitedNanos) >= slowWaitMs) {
+            log.warn("Hot showtime {}: waited {} ms for lock ({} threads queued)",
+                    showtimeIds, TimeUnit.NANOSECONDS.toMillis(waitedNanos), lock.getQueueLength());
+        }
+    }
+
+    int stripeIndex(Long showtimeId) {
+        return Math.floorMod(Long.hashCode(showtimeId) * 0x9E3779B9, stripes.length);
+    }
+
+    int queueDepth() {
+        return Arrays.stream(stripes).mapToInt(ReentrantLock::getQueueLength).sum();
+    }
+}
@@ -0,0 +1,80 @@
+package guy.shalev.ATnT.Home.assignment.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine (W-TinyLFU) caches for the movie and theater catalog. Statistics are recorded so that Actuator
+ * publishes hit/miss and eviction metrics per cache under {@code cache.*}. Readers cache with {@code sync = true},
+ * so concurrent misses on one key run a single load, which Caffeine times; {@link #cacheLoadMetrics} publishes
+ * those as {@code cache.load.duration} and {@code cache.loads}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIES = "movies";
+    public static final String MOVIE_LISTS = "movieLists";
+    public static final String THEATERS = "theaters";
+    public static final String THEATER_LISTS = "theaterLists";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.catalog-cache.max-weight:10000}") long maxWeight,
+                                     @Value("${app.catalog-cache.ttl-minutes:60}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(MOVIES, MOVIE_LISTS, THEATERS, THEATER_LISTS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(CacheConfig::weigh)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // Puts and evictions wait for the surrounding transaction to commit, so a rolled back write never
+        // lands in the cache and an eviction cannot run before the new row is visible
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Actuator only binds load metrics for Caffeine LoadingCaches, which Spring's caches are not
+    @Bean
+    public MeterBinder cacheLoadMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                return;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            TimeGauge.builder("cache.load.duration", nativeCache, TimeUnit.NANOSECONDS,
+                            loaded -> loaded.stats().totalLoadTime())
+                    .tag("cache", name)
+                    .description("Time spent loading cache misses")
+                    .register(registry);
+            FunctionCounter.builder("cache.loads", nativeCache, loaded -> loaded.stats().loadCount())
+                    .tag("cache", name)
+                    .description("Cache misses loaded, successfully or not")
+                    .register(registry);
+        });
+    }
+
+    // Weighs entries in catalog items, so a cached listing page costs as much as its rows would individually
+    private static int weigh(Object key, Object value) {
+        return value instanceof CursorPage<?> page ? Math.max(1, page.items().size()) : 1;
+    }
+}
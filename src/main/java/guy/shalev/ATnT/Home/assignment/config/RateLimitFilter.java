@@ -0,0 +1,170 @@
+package guy.shalev.ATnT.Home.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guy.shalev.ATnT.Home.assignment.concurrency.TokenBucket;
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.errorResponse.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throttles clients per endpoint with {@link TokenBucket}s in two stages. The first runs before Spring Security
+ * and limits by address with its own, looser {@code address-rules}: it stops floods from one address before they
+ * reach the password check, and is the only limit anonymous callers get. Many users can share an address behind
+ * NAT or a proxy, so the {@linkplain #forAuthenticatedUsers second} stage applies the real {@code rules} inside the
+ * security chain, per user once their credentials are verified, so nobody can spend another user's budget.
+ * Buckets live in a bounded cache and are dropped once idle.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final boolean byUser;
+    private final List<LimitedEndpoint> endpoints;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this(properties, properties.getAddressRules(), objectMapper, false);
+    }
+
+    private RateLimitFilter(RateLimitProperties properties, List<RateLimitProperties.Rule> rules,
+                            ObjectMapper objectMapper, boolean byUser) {
+        this.enabled = properties.isEnabled();
+        this.byUser = byUser;
+        this.endpoints = rules.stream().map(LimitedEndpoint::new).toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleSeconds()))
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The stage to add to the security chain after authentication. Requests without an authenticated user pass
+     * through it, having been limited by address already.
+     */
+    public static RateLimitFilter forAuthenticatedUsers(RateLimitProperties properties, ObjectMapper objectMapper) {
+        return new RateLimitFilter(properties, properties.getRules(), objectMapper, true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || endpoints.isEmpty();
+    }
+
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        // Both stages see the same request, so each needs its own marker
+        return super.getAlreadyFilteredAttributeName() + (byUser ? ".user" : ".address");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LimitedEndpoint endpoint = match(request);
+        String clientKey = clientKey(request);
+        if (endpoint == null || clientKey == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(endpoint.rule.getName() + '|' + clientKey,
+                key -> new TokenBucket(endpoint.rule.getRequestsPerSecond(), endpoint.rule.getBurst(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        reject(request, response, waitNanos);
+    }
+
+    private LimitedEndpoint match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (LimitedEndpoint endpoint : endpoints) {
+            if (endpoint.matches(request.getMethod(), path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    // Only a verified principal may stand for a user; a claimed username is not checked yet before the chain
+    private String clientKey(HttpServletRequest request) {
+        if (!byUser) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ErrorCode.RATE_LIMITED.getMessage() + ", retry in " + retryAfterSeconds + " seconds",
+                LocalDateTime.now(),
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), errorResponse);
+    }
+
+    private static final class LimitedEndpoint {
+        private final RateLimitProperties.Rule rule;
+        private final Set<String> methods;
+
+        LimitedEndpoint(RateLimitProperties.Rule rule) {
+            if (rule.getRequestsPerSecond() <= 0 || rule.getBurst() < 1) {
+                throw new IllegalArgumentException("Rate limit rule " + rule.getName()
+                        + " needs a positive requests-per-second and a burst of at least 1");
+            }
+            this.rule = rule;
+            this.methods = rule.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+        }
+
+        boolean matches(String method, String path) {
+            return (methods.isEmpty() || methods.contains(method)) && PATH_MATCHER.match(rule.getPath(), path);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package guy.shalev.ATnT.Home.assignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-endpoint limits for {@link RateLimitFilter}, bound from {@code app.rate-limit.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Buckets kept at most, and how long an unused bucket is kept; should exceed burst / rate
+    private long maxClients = 100_000;
+    private long idleSeconds = 600;
+    // Per verified user
+    private List<Rule> rules = new ArrayList<>();
+    // Per address, before authentication; keep these loose, many users can share one address
+    private List<Rule> addressRules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        // Ant-style pattern, e.g. /api/bookings/**
+        private String path;
+        // Limits every method when empty
+        private List<String> methods = new ArrayList<>();
+        private double requestsPerSecond;
+        private int burst = 1;
+    }
+}
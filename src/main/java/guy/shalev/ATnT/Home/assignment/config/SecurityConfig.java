@@ -1,5 +1,7 @@
 package guy.shalev.ATnT.Home.assignment.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -20,6 +22,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.JdbcUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -35,6 +38,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final DataSource dataSource;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -44,12 +49,15 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume requests that were already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers("/h2-console/**").permitAll() // Allow H2 console
                         .requestMatchers("/api/users/register").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/showtimes/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/theaters/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         // Admin endpoints
                         .requestMatchers(HttpMethod.POST, "/api/movies/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/movies/**").hasRole("ADMIN")
@@ -60,13 +68,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/showtimes").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/showtimes/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/showtimes/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Customer and Admin endpoints
                         .requestMatchers("/api/bookings/**").hasAnyRole("CUSTOMER", "ADMIN")
                         .requestMatchers("/api/users/current").hasAnyRole("CUSTOMER", "ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                // Per-user limits apply once the credentials are verified; RateLimitFilter limits by address before
+                .addFilterAfter(RateLimitFilter.forAuthenticatedUsers(rateLimitProperties, objectMapper),
+                        BasicAuthenticationFilter.class);
 
         return http.build();
     }
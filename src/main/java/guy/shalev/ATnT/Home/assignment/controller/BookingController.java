@@ -1,16 +1,27 @@
 package guy.shalev.ATnT.Home.assignment.controller;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.CartRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingTicketResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.QueueTokenResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAvailabilityResponse;
 import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.idempotency.IdempotencyStore;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingPipeline;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingTicketRegistry;
+import guy.shalev.ATnT.Home.assignment.service.waitingroom.WaitingRoom;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -18,13 +29,106 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingPipeline bookingPipeline;
+    private final BookingTicketRegistry bookingTicketRegistry;
+    private final IdempotencyStore idempotencyStore;
+    private final WaitingRoom waitingRoom;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public List<BookingResponse> createBooking(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken,
             @RequestBody @Valid BookingRequest request) {
-        return bookingService.createBooking(userDetails.getUsername(), request);
+        String username = userDetails.getUsername();
+        if (idempotencyKey == null) {
+            return admitAndBook(username, queueToken, request);
+        }
+        // Admission is checked only when the booking actually runs, so a retry is replayed even once the token is spent.
+        // The booking joins the transaction that records the key, which a pipeline worker could not, so it runs here.
+        return idempotencyStore.execute(username, idempotencyKey, request, () -> {
+            waitingRoom.checkAdmission(username, request.getShowtimeId(), queueToken);
+            return bookingService.createBooking(username, request);
+        });
+    }
+
+    private List<BookingResponse> admitAndBook(String username, String queueToken, BookingRequest request) {
+        waitingRoom.checkAdmission(username, request.getShowtimeId(), queueToken);
+        return book(username, request);
+    }
+
+    @PostMapping("/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BookingTicketResponse submitBooking(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken,
+            @RequestBody @Valid BookingRequest request) {
+        waitingRoom.checkAdmission(userDetails.getUsername(), request.getShowtimeId(), queueToken);
+        return bookingTicketRegistry.submit(userDetails.getUsername(), request);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public BookingTicketResponse getTicket(@AuthenticationPrincipal UserDetails userDetails,
+                                           @PathVariable String ticketId) {
+        return bookingTicketRegistry.getTicket(ticketId, userDetails.getUsername());
+    }
+
+    // Long-poll: answered as soon as the booking finishes, or with the QUEUED status after the timeout
+    @GetMapping("/tickets/{ticketId}/await")
+    public CompletableFuture<BookingTicketResponse> awaitTicket(@AuthenticationPrincipal UserDetails userDetails,
+                                                                @PathVariable String ticketId,
+                                                                @RequestParam(defaultValue = "30") int timeoutSeconds) {
+        return bookingTicketRegistry.awaitTicket(ticketId, userDetails.getUsername(), Duration.ofSeconds(timeoutSeconds));
+    }
+
+    @PostMapping("/queue")
+    public QueueTokenResponse joinQueue(@AuthenticationPrincipal UserDetails userDetails,
+                                        @RequestParam Long showtimeId) {
+        return waitingRoom.join(userDetails.getUsername(), showtimeId);
+    }
+
+    @GetMapping("/queue/{token}")
+    public QueueTokenResponse getQueueStatus(@AuthenticationPrincipal UserDetails userDetails,
+                                             @PathVariable String token) {
+        return waitingRoom.getStatus(token, userDetails.getUsername());
+    }
+
+    @PostMapping("/cart")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BookingResponse> checkoutCart(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken,
+            @RequestBody @Valid CartRequest request) {
+        request.getItems().forEach(item ->
+                waitingRoom.checkAdmission(userDetails.getUsername(), item.getShowtimeId(), queueToken));
+        return bookingService.checkoutCart(userDetails.getUsername(), request);
+    }
+
+    @PostMapping("/holds")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BookingResponse> holdSeats(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = WaitingRoom.TOKEN_HEADER, required = false) String queueToken,
+            @RequestBody @Valid BookingRequest request) {
+        waitingRoom.checkAdmission(userDetails.getUsername(), request.getShowtimeId(), queueToken);
+        return bookingService.holdSeats(userDetails.getUsername(), request);
+    }
+
+    @PostMapping("/holds/{orderReference}/confirm")
+    public List<BookingResponse> confirmHold(@AuthenticationPrincipal UserDetails userDetails,
+                                             @PathVariable String orderReference) {
+        return bookingService.confirmHold(userDetails.getUsername(), orderReference);
+    }
+
+    @PostMapping("/{id}/cancel")
+    public BookingResponse cancelBooking(@PathVariable Long id) {
+        return bookingService.cancelBooking(id);
+    }
+
+    @PostMapping("/orders/{orderReference}/cancel")
+    public List<BookingResponse> cancelOrder(@PathVariable String orderReference) {
+        return bookingService.cancelOrder(orderReference);
     }
 
     @GetMapping("/{id}")
@@ -34,12 +138,29 @@ public class BookingController {
     }
 
     @GetMapping("/user")
-    public List<BookingResponse> getUserBookings(@AuthenticationPrincipal UserDetails userDetails) {
-        return bookingService.getUserBookings(userDetails.getUsername());
+    public ResponseEntity<List<BookingResponse>> getUserBookings(@AuthenticationPrincipal UserDetails userDetails,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        return PagedResponse.ok(bookingService.getUserBookings(userDetails.getUsername(), cursor, size));
     }
 
     @GetMapping("/seat-available")
     public boolean isSeatAvailable(@RequestParam Long showtimeId, @RequestParam Integer seatNumber) {
         return bookingService.isSeatAvailable(showtimeId, seatNumber);
     }
+
+    @GetMapping("/seats-available")
+    public List<SeatAvailabilityResponse> getSeatAvailability(@RequestParam Long showtimeId,
+                                                              @RequestParam(required = false) List<Integer> seatNumbers,
+                                                              @RequestParam(required = false) Integer fromSeat,
+                                                              @RequestParam(required = false) Integer toSeat) {
+        return bookingService.getSeatAvailability(showtimeId, seatNumbers, fromSeat, toSeat);
+    }
+
+    private List<BookingResponse> book(String username, BookingRequest request) {
+        if (bookingPipeline.isEnabled()) {
+            return bookingPipeline.book(username, request);
+        }
+        return bookingService.createBooking(username, request);
+    }
 }
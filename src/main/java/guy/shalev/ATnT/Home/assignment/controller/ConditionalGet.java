@@ -0,0 +1,29 @@
+package guy.shalev.ATnT.Home.assignment.controller;
+
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET with 304 when the client's {@code If-None-Match} already holds the current ETag, and only
+ * loads the page otherwise. Clients may keep the response but must revalidate it before reuse.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<List<T>> respond(WebRequest request, String eTag, Supplier<CursorPage<T>> page) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+        }
+        return PagedResponse.body(ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE), page.get());
+    }
+}
@@ -3,10 +3,13 @@ package guy.shalev.ATnT.Home.assignment.controller;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.service.MovieService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +19,7 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,8 +33,11 @@ public class MovieController {
     }
 
     @GetMapping
-    public List<MovieResponse> getAllMovies() {
-        return movieService.getAllMovies();
+    public ResponseEntity<List<MovieResponse>> getAllMovies(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, catalogVersion.eTag(),
+                () -> movieService.getAllMovies(cursor, size));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,35 @@
+package guy.shalev.ATnT.Home.assignment.controller;
+
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Writes a {@link CursorPage} as a plain JSON array, so list responses keep their shape. When another page
+ * follows, its cursor goes into {@code X-Next-Cursor} and the full URL into a {@code Link: rel="next"} header.
+ */
+final class PagedResponse {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PagedResponse() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return body(ResponseEntity.ok(), page);
+    }
+
+    static <T> ResponseEntity<List<T>> body(ResponseEntity.BodyBuilder builder, CursorPage<T> page) {
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return builder.body(page.items());
+    }
+}
@@ -1,13 +1,18 @@
 package guy.shalev.ATnT.Home.assignment.controller;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAllocationResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatMapResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.List;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -30,14 +36,39 @@ public class ShowtimeController {
         return showtimeService.getShowtime(id);
     }
 
+    @GetMapping("/{id}/seat-map")
+    public SeatMapResponse getSeatMap(@PathVariable Long id) {
+        return showtimeService.getSeatMap(id);
+    }
+
+    @GetMapping("/{id}/best-available")
+    public SeatAllocationResponse findBestAvailableSeats(@PathVariable Long id, @RequestParam int quantity) {
+        return showtimeService.findBestAvailableSeats(id, quantity);
+    }
+
     @GetMapping("/movie/{movieId}")
-    public List<ShowtimeResponse> getShowtimesByMovie(@PathVariable Long movieId) {
-        return showtimeService.getShowtimesByMovie(movieId);
+    public ResponseEntity<List<ShowtimeResponse>> getShowtimesByMovie(@PathVariable Long movieId,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, catalogVersion.eTagWithSeats(),
+                () -> showtimeService.getShowtimesByMovie(movieId, cursor, size));
+    }
+
+    @GetMapping("/movie/{movieId}/adjacent-seats")
+    public List<SeatAllocationResponse> findShowtimesWithAdjacentSeats(
+            @PathVariable Long movieId,
+            @RequestParam int quantity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return showtimeService.findShowtimesWithAdjacentSeats(movieId, quantity, from, to);
     }
 
     @GetMapping("/theater/{theaterId}")
-    public List<ShowtimeResponse> getShowtimesByTheater(@PathVariable Long theaterId) {
-        return showtimeService.getShowtimesByTheater(theaterId);
+    public ResponseEntity<List<ShowtimeResponse>> getShowtimesByTheater(@PathVariable Long theaterId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return PagedResponse.ok(showtimeService.getShowtimesByTheater(theaterId, cursor, size));
     }
 
     @PutMapping("/{id}")
@@ -45,6 +76,11 @@ public class ShowtimeController {
         return showtimeService.updateShowtime(id, request);
     }
 
+    @PutMapping("/{id}/waiting-room")
+    public ShowtimeResponse setWaitingRoom(@PathVariable Long id, @RequestParam boolean enabled) {
+        return showtimeService.setWaitingRoom(id, enabled);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteShowtime(@PathVariable Long id) {
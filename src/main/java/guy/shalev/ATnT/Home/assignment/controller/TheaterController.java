@@ -1,12 +1,17 @@
 package guy.shalev.ATnT.Home.assignment.controller;
 
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterLayoutRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterLayoutResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.service.TheaterService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,6 +21,7 @@ import java.util.List;
 public class TheaterController {
 
     private final TheaterService theaterService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,8 +35,11 @@ public class TheaterController {
     }
 
     @GetMapping
-    public List<TheaterResponse> getAllTheaters() {
-        return theaterService.getAllTheaters();
+    public ResponseEntity<List<TheaterResponse>> getAllTheaters(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                WebRequest webRequest) {
+        return ConditionalGet.respond(webRequest, catalogVersion.eTag(),
+                () -> theaterService.getAllTheaters(cursor, size));
     }
 
     @PutMapping("/{id}")
@@ -44,4 +53,14 @@ public class TheaterController {
         theaterService.deleteTheater(id);
     }
 
+    @GetMapping("/{id}/layout")
+    public TheaterLayoutResponse getLayout(@PathVariable Long id) {
+        return theaterService.getLayout(id);
+    }
+
+    @PutMapping("/{id}/layout")
+    public TheaterLayoutResponse updateLayout(@PathVariable Long id, @RequestBody @Valid TheaterLayoutRequest request) {
+        return theaterService.updateLayout(id, request);
+    }
+
 }
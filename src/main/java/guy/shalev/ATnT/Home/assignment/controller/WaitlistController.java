@@ -0,0 +1,39 @@
+package guy.shalev.ATnT.Home.assignment.controller;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.WaitlistRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.WaitlistEntryResponse;
+import guy.shalev.ATnT.Home.assignment.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/bookings/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public WaitlistEntryResponse joinWaitlist(@AuthenticationPrincipal UserDetails userDetails,
+                                              @RequestBody @Valid WaitlistRequest request) {
+        return waitlistService.joinWaitlist(userDetails.getUsername(), request);
+    }
+
+    @GetMapping
+    public List<WaitlistEntryResponse> getUserEntries(@AuthenticationPrincipal UserDetails userDetails) {
+        return waitlistService.getUserEntries(userDetails.getUsername());
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void leaveWaitlist(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id) {
+        waitlistService.leaveWaitlist(userDetails.getUsername(), id);
+    }
+}
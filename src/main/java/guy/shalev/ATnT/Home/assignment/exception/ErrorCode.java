@@ -18,6 +18,7 @@ public enum ErrorCode {
     MISSING_REQUIRED_FIELD(2003, HttpStatus.BAD_REQUEST, "Required field is missing"),
     INVALID_DATE_FORMAT(2004, HttpStatus.BAD_REQUEST, "Invalid date format"),
     INVALID_EMAIL_FORMAT(2005, HttpStatus.BAD_REQUEST, "Invalid email format"),
+    INVALID_PAGE_CURSOR(2006, HttpStatus.BAD_REQUEST, "Invalid page cursor"),
 
     // Resource Errors (3xxx)
     RESOURCE_NOT_FOUND(3001, HttpStatus.NOT_FOUND, "Resource not found"),
@@ -34,6 +35,13 @@ public enum ErrorCode {
     THEATER_NAME_EXISTS(4004, HttpStatus.CONFLICT, "Theater with this name already exists"),
     SHOWTIME_OVERLAP(4005, HttpStatus.CONFLICT, "Showtime overlaps with existing showtime"),
     SEAT_ALREADY_BOOKED(4006, HttpStatus.CONFLICT, "Seat is already booked"),
+    CONCURRENT_MODIFICATION(4007, HttpStatus.CONFLICT, "Resource was modified concurrently"),
+    LOCK_TIMEOUT(4008, HttpStatus.CONFLICT, "Timed out waiting for a busy resource"),
+    HOLD_EXPIRED(4009, HttpStatus.CONFLICT, "Seat hold has expired"),
+    BOOKING_QUEUE_FULL(4010, HttpStatus.CONFLICT, "Too many pending bookings for this showtime"),
+    IDEMPOTENCY_KEY_REUSED(4011, HttpStatus.CONFLICT, "Idempotency key was already used for a different request"),
+    IDEMPOTENT_REQUEST_IN_PROGRESS(4012, HttpStatus.CONFLICT, "A request with this idempotency key is still in progress"),
+    ALREADY_WAITLISTED(4013, HttpStatus.CONFLICT, "Already on the waitlist for this showtime"),
 
     // Business Logic Errors (5xxx)
     INSUFFICIENT_SEATS(5001, HttpStatus.BAD_REQUEST, "Insufficient available seats"),
@@ -41,7 +49,16 @@ public enum ErrorCode {
     PAST_SHOWTIME(5003, HttpStatus.BAD_REQUEST, "Cannot book showtime in the past"),
     THEATER_IN_USE(5004, HttpStatus.BAD_REQUEST, "Cannot delete theater with scheduled showtimes"),
     SHOWTIME_HAS_BOOKINGS(5005, HttpStatus.BAD_REQUEST, "Cannot modify showtime with existing bookings"),
-    BOOKING_CLOSED(5006, HttpStatus.BAD_REQUEST, "Booking is closed for this showtime");
+    BOOKING_CLOSED(5006, HttpStatus.BAD_REQUEST, "Booking is closed for this showtime"),
+    INVALID_THEATER_LAYOUT(5007, HttpStatus.BAD_REQUEST, "Invalid theater layout"),
+    NO_ADJACENT_SEATS(5008, HttpStatus.BAD_REQUEST, "Not enough adjacent seats available"),
+    CANCELLATION_CLOSED(5009, HttpStatus.BAD_REQUEST, "Cannot cancel a booking for a showtime that has started"),
+
+    // Admission Control Errors (6xxx)
+    WAITING_ROOM_NOT_ADMITTED(6001, HttpStatus.TOO_MANY_REQUESTS, "Not yet admitted from the waiting room"),
+    WAITING_ROOM_FULL(6002, HttpStatus.TOO_MANY_REQUESTS, "Waiting room is full"),
+    RATE_LIMITED(6003, HttpStatus.TOO_MANY_REQUESTS, "Too many requests"),
+    SERVER_OVERLOADED(6004, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
 
     private final int code;
     private final HttpStatus status;
@@ -0,0 +1,25 @@
+package guy.shalev.ATnT.Home.assignment.exception.exceptions;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+    private final ErrorCode errorCode;
+    // Sent back as Retry-After, null when the client cannot know when to come back
+    private final Long retryAfterSeconds;
+
+    public TooManyRequestsException(ErrorCode errorCode, String message) {
+        this(errorCode, message, null);
+    }
+
+    public TooManyRequestsException(ErrorCode errorCode, String message, Long retryAfterSeconds) {
+        super(message);
+        this.errorCode = errorCode;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
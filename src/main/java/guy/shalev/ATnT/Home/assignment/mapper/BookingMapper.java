@@ -2,7 +2,9 @@ package guy.shalev.ATnT.Home.assignment.mapper;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookingRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -20,11 +22,18 @@ public interface BookingMapper {
 
     List<BookingResponse> toResponseList(List<Booking> bookings);
 
+    @Mapping(target = "id", source = "row.id")
+    @Mapping(target = "showtime", source = "showtime")
+    BookingResponse toResponse(BookingRow row, ShowtimeResponse showtime);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "showtime.id", source = "showtimeId")
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "price", ignore = true)
     @Mapping(target = "bookingTime", expression = "java(LocalDateTime.now())")
     @Mapping(target = "status", constant = "PENDING")
+    @Mapping(target = "orderReference", ignore = true)
+    @Mapping(target = "holdExpiresAt", ignore = true)
+    @Mapping(target = "seatClaim", ignore = true)
     Booking toEntity(BookingRequest request);
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ public interface MovieMapper {
     List<MovieResponse> toResponseList(List<Movie> movies);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "showtimes", ignore = true)
     Movie toEntity(MovieRequest request);
 }
@@ -5,6 +5,7 @@ import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -19,12 +20,27 @@ public interface ShowtimeMapper {
 
     List<ShowtimeResponse> toResponseList(List<Showtime> showtimes);
 
+    @Mapping(target = "movie.id", source = "movieId")
+    @Mapping(target = "movie.title", source = "movieTitle")
+    @Mapping(target = "movie.genre", source = "movieGenre")
+    @Mapping(target = "movie.duration", source = "movieDuration")
+    @Mapping(target = "movie.rating", source = "movieRating")
+    @Mapping(target = "movie.releaseYear", source = "movieReleaseYear")
+    @Mapping(target = "theater.id", source = "theaterId")
+    @Mapping(target = "theater.name", source = "theaterName")
+    @Mapping(target = "theater.capacity", source = "theaterCapacity")
+    ShowtimeResponse toResponse(ShowtimeRow row);
+
+    List<ShowtimeResponse> rowsToResponseList(List<ShowtimeRow> rows);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "movie", source = "movie")
     @Mapping(target = "theater", source = "theater")
     @Mapping(target = "endTime", source = "endTime")
     @Mapping(target = "availableSeats", source = "request.maxSeats")
     @Mapping(target = "maxSeats", source = "request.maxSeats")
+    @Mapping(target = "waitingRoom", ignore = true)
     @Mapping(target = "bookings", ignore = true)
     Showtime toEntity(Movie movie, Theater theater, ShowtimeRequest request, LocalDateTime endTime);
 }
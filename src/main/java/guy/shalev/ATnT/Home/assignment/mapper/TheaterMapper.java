@@ -2,7 +2,9 @@ package guy.shalev.ATnT.Home.assignment.mapper;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterRowResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -14,7 +16,12 @@ public interface TheaterMapper {
 
     List<TheaterResponse> toResponseList(List<Theater> theaters);
 
+    TheaterRowResponse toRowResponse(TheaterRow row);
+
+    List<TheaterRowResponse> toRowResponseList(List<TheaterRow> rows);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "showtimes", ignore = true)
     Theater toEntity(TheaterRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package guy.shalev.ATnT.Home.assignment.mapper;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.response.WaitlistEntryResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.WaitlistEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface WaitlistMapper {
+    @Mapping(source = "showtime.id", target = "showtimeId")
+    @Mapping(target = "position", ignore = true)
+    WaitlistEntryResponse toResponse(WaitlistEntry entry);
+}
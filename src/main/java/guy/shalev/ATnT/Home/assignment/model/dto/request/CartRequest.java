@@ -0,0 +1,17 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartRequest {
+    @NotEmpty(message = "Cart must contain at least one showtime")
+    private List<@Valid BookingRequest> items;
+}
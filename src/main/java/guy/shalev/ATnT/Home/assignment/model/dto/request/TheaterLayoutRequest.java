@@ -0,0 +1,18 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterLayoutRequest {
+    // Seat numbers are assigned to the rows in the order they are listed
+    @NotEmpty(message = "At least one row is required")
+    private List<@Valid TheaterRowRequest> rows;
+}
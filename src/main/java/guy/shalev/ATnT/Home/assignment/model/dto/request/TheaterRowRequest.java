@@ -0,0 +1,27 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterRowRequest {
+    @NotBlank(message = "Section is required")
+    private String section;
+
+    @NotBlank(message = "Row label is required")
+    private String rowLabel;
+
+    @NotNull(message = "Seat count is required")
+    @Min(value = 1, message = "Seat count must be positive")
+    private Integer seatCount;
+
+    @NotNull(message = "Preference rank is required")
+    @Min(value = 1, message = "Preference rank must be positive")
+    private Integer preferenceRank;
+}
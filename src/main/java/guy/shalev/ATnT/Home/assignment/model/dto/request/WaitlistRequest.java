@@ -0,0 +1,19 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequest {
+    @NotNull(message = "Showtime ID is required")
+    private Long showtimeId;
+
+    @NotNull(message = "Seat count is required")
+    @Min(value = 1, message = "Seat count must be positive")
+    private Integer seatCount;
+}
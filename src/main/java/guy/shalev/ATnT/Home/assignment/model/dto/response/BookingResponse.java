@@ -18,4 +18,6 @@ public class BookingResponse {
     private BigDecimal price;
     private LocalDateTime bookingTime;
     private BookingStatus status;
+    private String orderReference;
+    private LocalDateTime holdExpiresAt;
 }
\ No newline at end of file
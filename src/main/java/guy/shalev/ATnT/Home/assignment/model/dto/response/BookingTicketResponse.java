@@ -0,0 +1,24 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingTicketResponse {
+    private String ticketId;
+    private BookingTicketStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private List<BookingResponse> bookings;
+    private Integer errorCode;
+    private String errorMessage;
+}
@@ -0,0 +1,23 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import guy.shalev.ATnT.Home.assignment.model.enums.QueueTokenStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTokenResponse {
+    private String token;
+    private Long showtimeId;
+    private QueueTokenStatus status;
+    // People still ahead in line, 0 once admitted
+    private long position;
+    private long estimatedWaitSeconds;
+    private LocalDateTime admissionExpiresAt;
+}
@@ -0,0 +1,21 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAllocationResponse {
+    private Long showtimeId;
+    private LocalDateTime startTime;
+    private String section;
+    private String rowLabel;
+    private List<Integer> seatNumbers;
+}
@@ -0,0 +1,13 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityResponse {
+    private Integer seatNumber;
+    private boolean available;
+}
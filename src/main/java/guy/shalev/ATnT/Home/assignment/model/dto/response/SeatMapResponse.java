@@ -0,0 +1,18 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapResponse {
+    private Long showtimeId;
+    private Integer maxSeats;
+    private Integer availableSeats;
+    // Base64 of a little-endian bitset (java.util.BitSet#toByteArray); bit n is set when seat n is taken
+    private String bookedSeats;
+}
@@ -17,4 +17,5 @@ public class ShowtimeResponse {
     private LocalDateTime endTime;
     private Integer availableSeats;
     private Integer maxSeats;
+    private boolean waitingRoom;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterLayoutResponse {
+    private Long theaterId;
+    private Integer capacity;
+    private List<TheaterRowResponse> rows;
+}
@@ -0,0 +1,16 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterRowResponse {
+    private String section;
+    private String rowLabel;
+    private Integer firstSeatNumber;
+    private Integer seatCount;
+    private Integer preferenceRank;
+}
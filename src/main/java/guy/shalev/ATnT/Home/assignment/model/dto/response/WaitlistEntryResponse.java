@@ -0,0 +1,23 @@
+package guy.shalev.ATnT.Home.assignment.model.dto.response;
+
+import guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryResponse {
+    private Long id;
+    private Long showtimeId;
+    private Integer seatCount;
+    private WaitlistStatus status;
+    // 1 for the next customer in line, null once the entry is no longer waiting
+    private Integer position;
+    private String orderReference;
+    private LocalDateTime createdAt;
+    private LocalDateTime offeredAt;
+}
@@ -12,14 +12,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bookings_showtime_seat", columnNames = {"showtime_id", "seat_claim"})
+}, indexes = {
+        @Index(name = "idx_bookings_user_id", columnList = "user_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -33,6 +38,11 @@ public class Booking {
     @Column(name = "seat_number", nullable = false)
     private Integer seatNumber;
 
+    // Equals seatNumber while the booking holds its seat and is cleared on cancellation,
+    // so cancelled rows drop out of the unique index and the seat can be booked again
+    @Column(name = "seat_claim")
+    private Integer seatClaim;
+
     @Column(nullable = false)
     @DecimalMin("0.0")
     private BigDecimal price;
@@ -43,5 +53,13 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
+
+    // Shared by every seat booked in the same request
+    @Column(name = "order_reference", length = 36)
+    private String orderReference;
+
+    // Set while the booking is a PENDING hold
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
 }
 
@@ -0,0 +1,13 @@
+package guy.shalev.ATnT.Home.assignment.model.entities;
+
+/**
+ * Shared sequence allocation size for entity ids. Hibernate reserves this many ids per sequence call,
+ * which keeps inserts batchable; it should match {@code hibernate.jdbc.batch_size}.
+ */
+public final class IdAllocation {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
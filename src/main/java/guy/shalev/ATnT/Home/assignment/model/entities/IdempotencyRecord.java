@@ -0,0 +1,45 @@
+package guy.shalev.ATnT.Home.assignment.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a booking request sent with an {@code Idempotency-Key} header. The row is written in the same
+ * transaction as the booking, so a key stays claimed across nodes and restarts once its booking has committed.
+ */
+@Entity
+@Table(name = "idempotency_records", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_records_user_key", columnNames = {"username", "idempotency_key"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_record_seq")
+    @SequenceGenerator(name = "idempotency_record_seq", sequenceName = "idempotency_records_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    // SHA-256 of the request, to reject a key that is reused for a different booking
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Set in the booking's transaction; a row without one comes from a request that never finished
+    @Column(name = "order_reference", length = 36)
+    private String orderReference;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -12,16 +12,23 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "showtimes")
+@Table(name = "showtimes", indexes = {
+        @Index(name = "idx_showtimes_movie_id", columnList = "movie_id, id"),
+        @Index(name = "idx_showtimes_theater_id", columnList = "theater_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Showtime {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "showtime_seq")
+    @SequenceGenerator(name = "showtime_seq", sequenceName = "showtimes_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "movie_id", nullable = false)
     private Movie movie;
@@ -44,6 +51,10 @@ public class Showtime {
     @Column(name = "max_seats", nullable = false)
     private Integer maxSeats;
 
+    // Bookings must be admitted through the waiting room first
+    @Column(name = "waiting_room", nullable = false)
+    private boolean waitingRoom;
+
     @OneToMany(mappedBy = "showtime", cascade = CascadeType.ALL)
     private List<Booking> bookings = new ArrayList<>();
 }
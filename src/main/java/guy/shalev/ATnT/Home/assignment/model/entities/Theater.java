@@ -17,9 +17,13 @@ import java.util.List;
 @AllArgsConstructor
 public class Theater {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "theater_seq")
+    @SequenceGenerator(name = "theater_seq", sequenceName = "theaters_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank
     @Column(nullable = false)
     private String name;
@@ -0,0 +1,55 @@
+package guy.shalev.ATnT.Home.assignment.model.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A row of seats in a theater. Seat numbers stay theater-wide integers; a row covers
+ * {@code seatCount} consecutive numbers starting at {@code firstSeatNumber}.
+ */
+@Entity
+@Table(name = "theater_rows",
+        uniqueConstraints = @UniqueConstraint(name = "uk_theater_rows_theater_label", columnNames = {"theater_id", "row_label"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "theater_row_seq")
+    @SequenceGenerator(name = "theater_row_seq", sequenceName = "theater_rows_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "theater_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Theater theater;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String section;
+
+    @NotBlank
+    @Column(name = "row_label", nullable = false)
+    private String rowLabel;
+
+    @Min(1)
+    @Column(name = "first_seat_number", nullable = false)
+    private Integer firstSeatNumber;
+
+    @Min(1)
+    @Column(name = "seat_count", nullable = false)
+    private Integer seatCount;
+
+    // Lower ranks are offered first by best-available allocation
+    @Min(1)
+    @Column(name = "preference_rank", nullable = false)
+    private Integer preferenceRank;
+}
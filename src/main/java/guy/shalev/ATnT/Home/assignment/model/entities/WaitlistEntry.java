@@ -0,0 +1,64 @@
+package guy.shalev.ATnT.Home.assignment.model.entities;
+
+import guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_waitlist_entries_showtime_waiting", columnNames = {"showtime_id", "waiting_claim"})
+}, indexes = {
+        @Index(name = "idx_waitlist_entries_showtime_status", columnList = "showtime_id, status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    // Ids come from a sequence, so they also give the order in which customers joined
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entry_seq")
+    @SequenceGenerator(name = "waitlist_entry_seq", sequenceName = "waitlist_entries_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "showtime_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Showtime showtime;
+
+    @Min(1)
+    @Column(name = "seat_count", nullable = false)
+    private Integer seatCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    // Equals the user id while the entry is WAITING and is cleared when it leaves that state,
+    // so the unique index allows one waiting entry per customer and showtime
+    @Column(name = "waiting_claim")
+    private Long waitingClaim;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Reference of the seat hold offered to the customer; confirm it like any other hold
+    @Column(name = "order_reference", length = 36)
+    private String orderReference;
+
+    @Column(name = "offered_at")
+    private LocalDateTime offeredAt;
+}
@@ -0,0 +1,7 @@
+package guy.shalev.ATnT.Home.assignment.model.enums;
+
+public enum BookingMode {
+    LOCKING,
+    OPTIMISTIC,
+    SINGLE_NODE
+}
@@ -0,0 +1,7 @@
+package guy.shalev.ATnT.Home.assignment.model.enums;
+
+public enum BookingTicketStatus {
+    QUEUED,
+    CONFIRMED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package guy.shalev.ATnT.Home.assignment.model.projection;
+
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BookingRow(Long id, Long showtimeId, Integer seatNumber, BigDecimal price, LocalDateTime bookingTime,
+                         BookingStatus status, String orderReference, LocalDateTime holdExpiresAt) {
+}
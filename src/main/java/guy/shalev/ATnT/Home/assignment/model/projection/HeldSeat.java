@@ -0,0 +1,4 @@
+package guy.shalev.ATnT.Home.assignment.model.projection;
+
+public record HeldSeat(Long bookingId, Long showtimeId, Integer seatNumber) {
+}
@@ -0,0 +1,12 @@
+package guy.shalev.ATnT.Home.assignment.model.projection;
+
+import java.time.LocalDateTime;
+
+// A showtime with its movie and theater flattened into one row, read without loading any entity
+public record ShowtimeRow(Long id,
+                          Long movieId, String movieTitle, String movieGenre, Integer movieDuration,
+                          String movieRating, Integer movieReleaseYear,
+                          Long theaterId, String theaterName, Integer theaterCapacity,
+                          LocalDateTime startTime, LocalDateTime endTime,
+                          Integer availableSeats, Integer maxSeats, boolean waitingRoom) {
+}
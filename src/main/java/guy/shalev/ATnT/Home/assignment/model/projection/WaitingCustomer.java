@@ -0,0 +1,4 @@
+package guy.shalev.ATnT.Home.assignment.model.projection;
+
+public record WaitingCustomer(Long entryId, Long showtimeId, String username, Integer seatCount) {
+}
@@ -2,26 +2,72 @@ package guy.shalev.ATnT.Home.assignment.repository;
 
 import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
-import guy.shalev.ATnT.Home.assignment.model.entities.User;
 import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookedSeat;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookingRow;
+import guy.shalev.ATnT.Home.assignment.model.projection.HeldSeat;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByUser(User user);
+    // Keyset page, served by the (user_id, id) index; showtimes are read separately, once per distinct showtime
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.projection.BookingRow(" +
+            "b.id, b.showtime.id, b.seatNumber, b.price, b.bookingTime, b.status, b.orderReference, b.holdExpiresAt) " +
+            "FROM Booking b WHERE b.user.id = :userId AND b.id > :afterId ORDER BY b.id")
+    List<BookingRow> findRowsByUser(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
 
     List<Booking> findByShowtime(Showtime showtime);
 
     List<Booking> findByStatus(BookingStatus status);
 
-    // Find existing booking for a specific seat in a showtime
-    Optional<Booking> findByShowtimeAndSeatNumber(Showtime showtime, Integer seatNumber);
+    // Seat lookups go through seatClaim so they are served by the (showtime_id, seat_claim) unique index
+    // and skip cancelled bookings
+    boolean existsByShowtimeIdAndSeatClaim(Long showtimeId, Integer seatClaim);
+
+    @Query("SELECT b.seatClaim FROM Booking b WHERE b.showtime.id = :showtimeId AND b.seatClaim IS NOT NULL")
+    List<Integer> findBookedSeatNumbers(@Param("showtimeId") Long showtimeId);
+
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.projection.BookedSeat(b.showtime.id, b.seatClaim) " +
+            "FROM Booking b WHERE b.showtime.id IN :showtimeIds AND b.seatClaim IS NOT NULL")
+    List<BookedSeat> findBookedSeats(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    @Query("SELECT b.seatClaim FROM Booking b WHERE b.showtime.id = :showtimeId AND b.seatClaim IN :seatNumbers")
+    List<Integer> findBookedSeatNumbersIn(@Param("showtimeId") Long showtimeId,
+                                          @Param("seatNumbers") Collection<Integer> seatNumbers);
+
+    List<Booking> findByOrderReference(String orderReference);
+
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.projection.HeldSeat(b.id, b.showtime.id, b.seatNumber) " +
+            "FROM Booking b WHERE b.orderReference IN :orderReferences AND b.status = 'PENDING' AND b.holdExpiresAt <= :now")
+    List<HeldSeat> findExpiredHolds(@Param("orderReferences") Collection<String> orderReferences,
+                                    @Param("now") LocalDateTime now);
+
+    // Confirms a hold only while it is still live; returns 0 once the hold has expired
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus.CONFIRMED, " +
+            "b.holdExpiresAt = null " +
+            "WHERE b.orderReference = :orderReference AND b.status = 'PENDING' AND b.holdExpiresAt > :now")
+    int confirmHold(@Param("orderReference") String orderReference, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' AND b.holdExpiresAt <= :now")
+    int deleteExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Only rows that are still active are cancelled; returns how many actually changed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus.CANCELLED, " +
+            "b.seatClaim = null, b.holdExpiresAt = null " +
+            "WHERE b.id IN :ids AND b.status <> 'CANCELLED'")
+    int cancelBookings(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.showtime = :showtime AND b.status = 'CONFIRMED'")
     long countConfirmedBookingsByShowtime(@Param("showtime") Showtime showtime);
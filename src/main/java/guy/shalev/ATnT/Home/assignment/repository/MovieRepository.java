@@ -1,6 +1,8 @@
 package guy.shalev.ATnT.Home.assignment.repository;
 
+import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,12 @@ import java.util.List;
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
+    // Keyset page read straight into response DTOs: a primary key range scan that loads no entities
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse(" +
+            "m.id, m.title, m.genre, m.duration, m.rating, m.releaseYear) " +
+            "FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<MovieResponse> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
     @Query("SELECT m FROM Movie m WHERE " +
             "(:title IS NULL OR LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
             "(:genre IS NULL OR LOWER(m.genre) = LOWER(:genre)) AND " +
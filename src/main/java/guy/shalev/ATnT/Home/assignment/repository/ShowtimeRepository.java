@@ -1,27 +1,54 @@
 package guy.shalev.ATnT.Home.assignment.repository;
 
-import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
-    List<Showtime> findByMovie(Movie movie);
+    String SHOWTIME_ROW = "SELECT new guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow(" +
+            "s.id, m.id, m.title, m.genre, m.duration, m.rating, m.releaseYear, t.id, t.name, t.capacity, " +
+            "s.startTime, s.endTime, s.availableSeats, s.maxSeats, s.waitingRoom) " +
+            "FROM Showtime s JOIN s.movie m JOIN s.theater t ";
 
-    List<Showtime> findByTheater(Theater theater);
+    // Keyset pages, served by the (movie_id, id) and (theater_id, id) indexes
+    @Query(SHOWTIME_ROW + "WHERE s.movie.id = :movieId AND s.id > :afterId ORDER BY s.id")
+    List<ShowtimeRow> findRowsByMovie(@Param("movieId") Long movieId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(SHOWTIME_ROW + "WHERE s.theater.id = :theaterId AND s.id > :afterId ORDER BY s.id")
+    List<ShowtimeRow> findRowsByTheater(@Param("theaterId") Long theaterId, @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    @Query(SHOWTIME_ROW + "WHERE s.id IN :ids")
+    List<ShowtimeRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
 
     List<Showtime> findByStartTimeBetween(LocalDateTime start, LocalDateTime end);
 
+    // Candidates for a seat search: upcoming showtimes of a movie that still have enough seats in total
+    @Query("SELECT s FROM Showtime s JOIN FETCH s.theater WHERE s.movie.id = :movieId " +
+            "AND s.startTime >= :from AND (:to IS NULL OR s.startTime < :to) " +
+            "AND s.availableSeats >= :quantity ORDER BY s.startTime")
+    List<Showtime> findSearchCandidates(
+            @Param("movieId") Long movieId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("quantity") int quantity
+    );
+
     // Find overlapping showtimes for a theater
     @Query("SELECT s FROM Showtime s WHERE s.theater = :theater " +
             "AND ((s.startTime BETWEEN :start AND :end) OR " +
@@ -33,7 +60,24 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
             @Param("end") LocalDateTime end
     );
 
+    @Query("SELECT s.id FROM Showtime s WHERE s.waitingRoom = true")
+    List<Long> findWaitingRoomShowtimeIds();
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Showtime s WHERE s.id = :id")
     Optional<Showtime> findByIdWithLock(@Param("id") Long id);
+
+    // Takes seats only if enough are left; returns 0 when the showtime cannot fit the request
+    @Transactional
+    @Modifying
+    @Query("UPDATE Showtime s SET s.availableSeats = s.availableSeats - :count, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.availableSeats >= :count")
+    int reserveSeats(@Param("id") Long id, @Param("count") int count);
+
+    // Gives seats back without ever exceeding maxSeats; returns 0 when nothing was released
+    @Transactional
+    @Modifying
+    @Query("UPDATE Showtime s SET s.availableSeats = s.availableSeats + :count, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.availableSeats + :count <= s.maxSeats")
+    int releaseSeats(@Param("id") Long id, @Param("count") int count);
 }
@@ -1,12 +1,21 @@
 package guy.shalev.ATnT.Home.assignment.repository;
 
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TheaterRepository extends JpaRepository<Theater, Long> {
     Optional<Theater> findByName(String name);
+
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse(t.id, t.name, t.capacity) " +
+            "FROM Theater t WHERE t.id > :afterId ORDER BY t.id")
+    List<TheaterResponse> findPageAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,26 @@
+package guy.shalev.ATnT.Home.assignment.repository;
+
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TheaterRowRepository extends JpaRepository<TheaterRow, Long> {
+    List<TheaterRow> findByTheaterIdOrderByFirstSeatNumber(Long theaterId);
+
+    List<TheaterRow> findByTheaterIdOrderByPreferenceRankAscFirstSeatNumberAsc(Long theaterId);
+
+    List<TheaterRow> findByTheaterIdIn(Collection<Long> theaterIds);
+
+    boolean existsByTheaterId(Long theaterId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TheaterRow r WHERE r.theater.id = :theaterId")
+    void deleteByTheaterId(@Param("theaterId") Long theaterId);
+}
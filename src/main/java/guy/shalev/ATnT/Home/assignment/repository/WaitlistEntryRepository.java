@@ -0,0 +1,35 @@
+package guy.shalev.ATnT.Home.assignment.repository;
+
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.entities.WaitlistEntry;
+import guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus;
+import guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByUserOrderByCreatedAtDesc(User user);
+
+    boolean existsByUserAndShowtimeIdAndStatus(User user, Long showtimeId, WaitlistStatus status);
+
+    @Query("SELECT new guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer(" +
+            "e.id, e.showtime.id, e.user.username, e.seatCount) " +
+            "FROM WaitlistEntry e WHERE e.status = 'WAITING' ORDER BY e.id")
+    List<WaitingCustomer> findWaitingCustomers();
+
+    // Moves an entry to OFFERED only if the customer is still waiting; returns 0 otherwise
+    @Transactional
+    @Modifying
+    @Query("UPDATE WaitlistEntry e SET e.status = guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus.OFFERED, " +
+            "e.waitingClaim = null, e.orderReference = :orderReference, e.offeredAt = :now " +
+            "WHERE e.id = :id AND e.status = 'WAITING'")
+    int markOffered(@Param("id") Long id, @Param("orderReference") String orderReference, @Param("now") LocalDateTime now);
+}
@@ -1,20 +1,44 @@
 package guy.shalev.ATnT.Home.assignment.service;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.CartRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAvailabilityResponse;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingCommand;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingOutcome;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingService {
     List<BookingResponse> createBooking(String username, BookingRequest request);
 
+    List<BookingOutcome> createBookingBatch(Long showtimeId, List<BookingCommand> commands);
+
+    List<BookingResponse> checkoutCart(String username, CartRequest request);
+
+    List<BookingResponse> holdSeats(String username, BookingRequest request);
+
+    List<BookingResponse> confirmHold(String username, String orderReference);
+
+    int releaseExpiredHolds(Collection<String> orderReferences);
+
+    BookingResponse cancelBooking(Long id);
+
+    List<BookingResponse> cancelOrder(String orderReference);
+
     @Transactional(readOnly = true)
     BookingResponse getBooking(Long id);
 
     @Transactional(readOnly = true)
-    List<BookingResponse> getUserBookings(String username);
+    CursorPage<BookingResponse> getUserBookings(String username, String cursor, Integer size);
 
     @Transactional(readOnly = true)
     boolean isSeatAvailable(Long showtimeId, Integer seatNumber);
+
+    @Transactional(readOnly = true)
+    List<SeatAvailabilityResponse> getSeatAvailability(Long showtimeId, List<Integer> seatNumbers,
+                                                       Integer fromSeat, Integer toSeat);
 }
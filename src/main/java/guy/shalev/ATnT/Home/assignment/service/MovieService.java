@@ -2,6 +2,7 @@ package guy.shalev.ATnT.Home.assignment.service;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -13,7 +14,7 @@ public interface MovieService {
     MovieResponse getMovie(Long id);
 
     @Transactional(readOnly = true)
-    List<MovieResponse> getAllMovies();
+    CursorPage<MovieResponse> getAllMovies(String cursor, Integer size);
 
     MovieResponse updateMovie(Long id, MovieRequest request);
 
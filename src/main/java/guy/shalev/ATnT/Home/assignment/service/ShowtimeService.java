@@ -1,7 +1,10 @@
 package guy.shalev.ATnT.Home.assignment.service;
 
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAllocationResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatMapResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -13,14 +16,24 @@ public interface ShowtimeService {
     @Transactional(readOnly = true)
     ShowtimeResponse getShowtime(Long id);
 
+    SeatMapResponse getSeatMap(Long id);
+
+    SeatAllocationResponse findBestAvailableSeats(Long id, int quantity);
+
     @Transactional(readOnly = true)
-    List<ShowtimeResponse> getShowtimesByMovie(Long movieId);
+    CursorPage<ShowtimeResponse> getShowtimesByMovie(Long movieId, String cursor, Integer size);
 
     @Transactional(readOnly = true)
-    List<ShowtimeResponse> getShowtimesByTheater(Long theaterId);
+    List<SeatAllocationResponse> findShowtimesWithAdjacentSeats(Long movieId, int quantity,
+                                                                LocalDateTime from, LocalDateTime to);
+
+    @Transactional(readOnly = true)
+    CursorPage<ShowtimeResponse> getShowtimesByTheater(Long theaterId, String cursor, Integer size);
 
     ShowtimeResponse updateShowtime(Long id, ShowtimeRequest request);
 
+    ShowtimeResponse setWaitingRoom(Long id, boolean enabled);
+
     void deleteShowtime(Long id);
 
     @Transactional(readOnly = true)
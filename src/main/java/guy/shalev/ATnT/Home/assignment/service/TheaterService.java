@@ -1,11 +1,12 @@
 package guy.shalev.ATnT.Home.assignment.service;
 
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterLayoutRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterLayoutResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 public interface TheaterService {
     TheaterResponse createTheater(TheaterRequest request);
 
@@ -13,9 +14,14 @@ public interface TheaterService {
     TheaterResponse getTheater(Long id);
 
     @Transactional(readOnly = true)
-    List<TheaterResponse> getAllTheaters();
+    CursorPage<TheaterResponse> getAllTheaters(String cursor, Integer size);
 
     TheaterResponse updateTheater(Long id, TheaterRequest request);
 
     void deleteTheater(Long id);
+
+    @Transactional(readOnly = true)
+    TheaterLayoutResponse getLayout(Long id);
+
+    TheaterLayoutResponse updateLayout(Long id, TheaterLayoutRequest request);
 }
@@ -0,0 +1,16 @@
+package guy.shalev.ATnT.Home.assignment.service;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.WaitlistRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.WaitlistEntryResponse;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntryResponse joinWaitlist(String username, WaitlistRequest request);
+
+    @Transactional(readOnly = true)
+    List<WaitlistEntryResponse> getUserEntries(String username);
+
+    void leaveWaitlist(String username, Long entryId);
+}
@@ -0,0 +1,58 @@
+package guy.shalev.ATnT.Home.assignment.service.catalog;
+
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter for the movie, theater and showtime catalog, bumped by their services on every write.
+ * Catalog endpoints derive strong ETags from it, so an unchanged {@code If-None-Match} is answered with 304
+ * before the database is queried. Showtime listings also carry seat counts, so their ETag includes the
+ * {@link SeatInventoryManager} version as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final SeatInventoryManager seatInventoryManager;
+    // Seeded with the start time so that ETags handed out before a restart never match
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * Moves the version once the current transaction has committed, or immediately outside a transaction.
+     * The bump runs after completion, so the after-commit cache evictions have already happened by then.
+     * Single movies and theaters are loaded with {@code sync = true}, so an eviction waits for a load still in
+     * flight and removes what it read. A listing cleared with {@code allEntries} gets no such wait, which is why
+     * listings are cached under the {@linkplain #current() version} they were loaded for instead.
+     */
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        version.incrementAndGet();
+                    }
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    public String eTag() {
+        return "\"" + Long.toHexString(version.get()) + "\"";
+    }
+
+    public String eTagWithSeats() {
+        return "\"" + Long.toHexString(version.get()) + "-" + Long.toHexString(seatInventoryManager.getVersion()) + "\"";
+    }
+}
@@ -0,0 +1,255 @@
+package guy.shalev.ATnT.Home.assignment.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.mapper.BookingMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.IdempotencyRecord;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the result of a booking request sent again with the same {@code Idempotency-Key}.
+ * Results are kept in a bounded, expiring in-memory cache; the {@code idempotency_records} table is the fallback
+ * for retries that land on another node or after a restart. The record is written in the booking's own transaction,
+ * so it exists, with its order reference, exactly when the booking has committed.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 64;
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final Duration ttl;
+    private final Duration bookingTimeout;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, StoredResult> results;
+    // Requests currently running on this node, so a concurrent retry waits for the original instead of failing
+    private final Map<String, CompletableFuture<StoredResult>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            BookingRepository bookingRepository,
+                            BookingMapper bookingMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.booking.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${app.booking.idempotency.max-entries:10000}") long maxEntries,
+                            @Value("${app.booking.idempotency.booking-timeout-seconds:30}") int bookingTimeoutSeconds) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.bookingTimeout = Duration.ofSeconds(bookingTimeoutSeconds);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(bookingTimeoutSeconds);
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Runs {@code booking} once per user and key. A repeated call with the same request gets the original responses
+     * back without running it again; the same key with a different request is rejected.
+     * {@code booking} runs inside the transaction that records the key, so it must book on the calling thread.
+     */
+    public List<BookingResponse> execute(String username, String key, BookingRequest request,
+                                         Supplier<List<BookingResponse>> booking) {
+        validateKey(key);
+        String cacheKey = username + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResult cached = results.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.replay(key, requestHash);
+        }
+
+        CompletableFuture<StoredResult> ours = new CompletableFuture<>();
+        CompletableFuture<StoredResult> running = inFlight.putIfAbsent(cacheKey, ours);
+        if (running != null) {
+            return await(running).replay(key, requestHash);
+        }
+
+        try {
+            StoredResult result = executeOnce(username, key, cacheKey, requestHash, booking);
+            ours.complete(result);
+            return result.responses();
+        } catch (RuntimeException e) {
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, ours);
+        }
+    }
+
+    private StoredResult executeOnce(String username, String key, String cacheKey, String requestHash,
+                                     Supplier<List<BookingResponse>> booking) {
+        purgeExpired();
+
+        Optional<IdempotencyRecord> existing = findLiveRecord(username, key);
+        if (existing.isPresent()) {
+            return replayAndCache(cacheKey, existing.get(), requestHash);
+        }
+
+        List<BookingResponse> responses;
+        try {
+            // The key, the booking and its order reference commit together, or none of them does
+            responses = transactionTemplate.execute(status -> {
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .username(username)
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                List<BookingResponse> booked = booking.get();
+                record.setOrderReference(booked.get(0).getOrderReference());
+                idempotencyRecordRepository.save(record);
+                return booked;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The insert waits for a concurrent claim of the same key, so that request has committed by now
+            Optional<IdempotencyRecord> winner = idempotencyRecordRepository.findByUsernameAndIdempotencyKey(username, key);
+            if (winner.isEmpty()) {
+                throw e;
+            }
+            return replayAndCache(cacheKey, winner.get(), requestHash);
+        } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+            // Conflict retries cannot run inside this transaction; nothing was booked, so the client can retry
+            throw new ConflictException(ErrorCode.CONCURRENT_MODIFICATION,
+                    "Booking conflicted with a concurrent update, retry with the same Idempotency-Key");
+        }
+
+        StoredResult result = new StoredResult(requestHash, responses);
+        results.put(cacheKey, result);
+        return result;
+    }
+
+    private StoredResult replayAndCache(String cacheKey, IdempotencyRecord record, String requestHash) {
+        StoredResult result = new StoredResult(requestHash, replayRecord(record, requestHash));
+        results.put(cacheKey, result);
+        return result;
+    }
+
+    /**
+     * The record of an earlier request with this key, unless it has expired or was abandoned. Records without an
+     * order reference only come from requests that never finished: no booking transaction outlives its timeout.
+     */
+    private Optional<IdempotencyRecord> findLiveRecord(String username, String key) {
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findByUsernameAndIdempotencyKey(username, key);
+        if (record.isEmpty()) {
+            return record;
+        }
+        LocalDateTime createdAt = record.get().getCreatedAt();
+        boolean expired = createdAt.isBefore(LocalDateTime.now().minus(ttl));
+        boolean abandoned = record.get().getOrderReference() == null
+                && createdAt.isBefore(LocalDateTime.now().minus(bookingTimeout));
+        if (expired || abandoned) {
+            idempotencyRecordRepository.delete(record.get());
+            return Optional.empty();
+        }
+        return record;
+    }
+
+    private List<BookingResponse> replayRecord(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw keyReused(record.getIdempotencyKey());
+        }
+        if (record.getOrderReference() == null) {
+            throw new ConflictException(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS,
+                    "Request with idempotency key " + record.getIdempotencyKey() + " is still in progress");
+        }
+        return bookingMapper.toResponseList(bookingRepository.findByOrderReference(record.getOrderReference()));
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long due = nextPurgeAt.get();
+        if (now < due || !nextPurgeAt.compareAndSet(due, now + PURGE_INTERVAL.toMillis())) {
+            return;
+        }
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    // Seat order does not change the booking, so it does not change the hash either
+    static String hash(BookingRequest request) {
+        String canonical = request.getShowtimeId() + ":" + request.getSeats().stream()
+                .map(SeatRequest::getSeatNumber)
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static StoredResult await(CompletableFuture<StoredResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ConflictException keyReused(String key) {
+        return new ConflictException(ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                "Idempotency key " + key + " was already used for a different booking request");
+    }
+
+    private record StoredResult(String requestHash, List<BookingResponse> responses) {
+        List<BookingResponse> replay(String key, String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw keyReused(key);
+            }
+            return responses;
+        }
+    }
+}
@@ -1,23 +1,42 @@
 package guy.shalev.ATnT.Home.assignment.service.impl;
 
+import guy.shalev.ATnT.Home.assignment.concurrency.RetryOnConflict;
+import guy.shalev.ATnT.Home.assignment.concurrency.ShowtimeLockManager;
 import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.BookingMapper;
+import guy.shalev.ATnT.Home.assignment.mapper.ShowtimeMapper;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.CartRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAvailabilityResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
 import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingMode;
 import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookingRow;
+import guy.shalev.ATnT.Home.assignment.model.projection.HeldSeat;
+import guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow;
 import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
 import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.inventory.HoldExpiryScheduler;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingCommand;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingOutcome;
+import guy.shalev.ATnT.Home.assignment.service.waitlist.WaitlistDispatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,34 +45,210 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @Transactional(transactionManager = "transactionManager")
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_SEATS_PER_QUERY = 1000;
+
     @Value("${app.booking.ticket.price}")
     private BigDecimal ticketPrice;
 
+    @Value("${app.booking.mode:LOCKING}")
+    private BookingMode bookingMode;
+
+    @Value("${app.booking.hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
     private final BookingRepository bookingRepository;
     private final ShowtimeRepository showtimeRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final ShowtimeMapper showtimeMapper;
+    private final SeatInventoryManager seatInventoryManager;
+    private final ShowtimeLockManager showtimeLockManager;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final WaitlistDispatcher waitlistDispatcher;
+    private final KeysetPaging keysetPaging;
 
+    @RetryOnConflict
     @Override
     public List<BookingResponse> createBooking(String username, BookingRequest request) {
+        List<Booking> savedBookings = reserveSeats(username, request, BookingStatus.CONFIRMED, null);
+        return bookingMapper.toResponseList(savedBookings);
+    }
+
+    @RetryOnConflict
+    @Override
+    public List<BookingResponse> holdSeats(String username, BookingRequest request) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(holdTtlSeconds);
+        List<Booking> holds = reserveSeats(username, request, BookingStatus.PENDING, expiresAt);
+        // A hold whose transaction rolls back is simply not found when its timer fires
+        holdExpiryScheduler.schedule(holds.get(0).getOrderReference(), expiresAt);
+        return bookingMapper.toResponseList(holds);
+    }
+
+    @Override
+    public List<BookingResponse> confirmHold(String username, String orderReference) {
+        List<Booking> holds = bookingRepository.findByOrderReference(orderReference).stream()
+                .filter(booking -> booking.getUser().getUsername().equals(username))
+                .toList();
+        if (holds.isEmpty()) {
+            throw new NotFoundException(ErrorCode.BOOKING_NOT_FOUND, "Hold not found with reference: " + orderReference);
+        }
+        if (holds.stream().allMatch(booking -> booking.getStatus() == BookingStatus.CONFIRMED)) {
+            return bookingMapper.toResponseList(holds);
+        }
+
+        if (bookingRepository.confirmHold(orderReference, LocalDateTime.now()) == 0) {
+            throw new ConflictException(ErrorCode.HOLD_EXPIRED, "Hold " + orderReference + " has expired");
+        }
+        holdExpiryScheduler.cancel(orderReference);
+        return bookingMapper.toResponseList(bookingRepository.findByOrderReference(orderReference));
+    }
+
+    @Override
+    public int releaseExpiredHolds(Collection<String> orderReferences) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<HeldSeat>> expiredByShowtime = bookingRepository.findExpiredHolds(orderReferences, now).stream()
+                .collect(Collectors.groupingBy(HeldSeat::showtimeId));
+
+        int released = 0;
+        for (Map.Entry<Long, List<HeldSeat>> entry : expiredByShowtime.entrySet()) {
+            Long showtimeId = entry.getKey();
+            List<HeldSeat> seats = entry.getValue();
+            int deleted = bookingRepository.deleteExpiredHolds(seats.stream().map(HeldSeat::bookingId).toList(), now);
+            if (deleted == 0) {
+                continue;
+            }
+
+            showtimeRepository.releaseSeats(showtimeId, deleted);
+            List<Integer> seatNumbers = seats.stream().map(HeldSeat::seatNumber).toList();
+            if (deleted == seats.size()) {
+                seatInventoryManager.releaseSeats(showtimeId, seatNumbers);
+            } else {
+                // Some holds were confirmed concurrently; let the inventory reload from the table once this commits
+                seatInventoryManager.evict(showtimeId);
+            }
+            // Seats that turn out to be confirmed are skipped when they are offered
+            waitlistDispatcher.seatsReleased(showtimeId, seatNumbers);
+            released += deleted;
+        }
+        return released;
+    }
+
+    @RetryOnConflict
+    @Override
+    public List<BookingOutcome> createBookingBatch(Long showtimeId, List<BookingCommand> commands) {
+        Showtime showtime = getShowtimesForBooking(List.of(showtimeId)).get(showtimeId);
+        int remainingSeats = showtime.getAvailableSeats();
+
+        // A rejected command only fails itself; the accepted ones are committed together
+        List<List<Booking>> acceptedBookings = new ArrayList<>(commands.size());
+        List<RuntimeException> failures = new ArrayList<>(commands.size());
+        List<Booking> batch = new ArrayList<>();
+        for (BookingCommand command : commands) {
+            List<SeatRequest> seats = command.request().getSeats();
+            try {
+                User user = getUserByUsername(command.username());
+                validateAvailableSeats(remainingSeats, seats.size());
+                validateSeatNumbers(showtime, seats);
+                validateNoDuplicateSeats(seats);
+                seatInventoryManager.claimSeats(showtime, getSeatNumbers(seats));
+
+                List<Booking> bookings = createBookings(user, showtime, seats,
+                        UUID.randomUUID().toString(), BookingStatus.CONFIRMED, null);
+                batch.addAll(bookings);
+                remainingSeats -= seats.size();
+                acceptedBookings.add(bookings);
+                failures.add(null);
+            } catch (NotFoundException | BadRequestException | ConflictException e) {
+                acceptedBookings.add(null);
+                failures.add(e);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            updateShowtimeSeats(showtime, batch.size());
+            saveBookings(batch);
+        }
+
+        List<BookingOutcome> outcomes = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            outcomes.add(failures.get(i) != null
+                    ? BookingOutcome.failure(failures.get(i))
+                    : BookingOutcome.success(bookingMapper.toResponseList(acceptedBookings.get(i))));
+        }
+        return outcomes;
+    }
+
+    @RetryOnConflict
+    @Override
+    public List<BookingResponse> checkoutCart(String username, CartRequest request) {
+        User user = getUserByUsername(username);
+
+        // Sorted by showtime id so that concurrent carts always lock in the same order
+        Map<Long, List<SeatRequest>> seatsByShowtime = new TreeMap<>();
+        request.getItems().forEach(item -> seatsByShowtime
+                .computeIfAbsent(item.getShowtimeId(), id -> new ArrayList<>())
+                .addAll(item.getSeats()));
+        Map<Long, Showtime> showtimes = getShowtimesForBooking(seatsByShowtime.keySet());
+
+        String orderReference = UUID.randomUUID().toString();
+        List<Booking> bookings = new ArrayList<>();
+        seatsByShowtime.forEach((showtimeId, seats) -> {
+            Showtime showtime = showtimes.get(showtimeId);
+            validateBookingRequest(showtime, seats);
+            seatInventoryManager.claimSeats(showtime, getSeatNumbers(seats));
+            bookings.addAll(createBookings(user, showtime, seats, orderReference, BookingStatus.CONFIRMED, null));
+            updateShowtimeSeats(showtime, seats.size());
+        });
+
+        return bookingMapper.toResponseList(saveBookings(bookings));
+    }
+
+    private List<Booking> reserveSeats(String username, BookingRequest request,
+                                       BookingStatus status, LocalDateTime holdExpiresAt) {
         User user = getUserByUsername(username);
-        Showtime showtime = getShowtimeWithLock(request.getShowtimeId());
+        Showtime showtime = getShowtimesForBooking(List.of(request.getShowtimeId())).get(request.getShowtimeId());
 
-        validateBookingRequest(showtime, request);
-        List<Booking> bookings = createBookings(user, showtime, request.getSeats());
+        validateBookingRequest(showtime, request.getSeats());
+        seatInventoryManager.claimSeats(showtime, getSeatNumbers(request.getSeats()));
+        List<Booking> bookings = createBookings(user, showtime, request.getSeats(),
+                UUID.randomUUID().toString(), status, holdExpiresAt);
         updateShowtimeSeats(showtime, request.getSeats().size());
 
-        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
-        return bookingMapper.toResponseList(savedBookings);
+        return saveBookings(bookings);
+    }
+
+    // Expects the ids in ascending order when more than one showtime is locked
+    private Map<Long, Showtime> getShowtimesForBooking(Collection<Long> showtimeIds) {
+        if (bookingMode == BookingMode.SINGLE_NODE) {
+            showtimeLockManager.lockUntilTransactionEnds(showtimeIds);
+        }
+
+        Map<Long, Showtime> showtimes = new LinkedHashMap<>();
+        for (Long showtimeId : showtimeIds) {
+            // In OPTIMISTIC mode seat uniqueness is enforced by the (showtime_id, seat_number) constraint
+            Showtime showtime = bookingMode == BookingMode.LOCKING
+                    ? getShowtimeWithLock(showtimeId)
+                    : getShowtime(showtimeId);
+            showtimes.put(showtimeId, showtime);
+        }
+        return showtimes;
     }
 
     private Showtime getShowtimeWithLock(Long showtimeId) {
@@ -61,11 +256,21 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(ErrorCode.SHOWTIME_NOT_FOUND, "Showtime not found with id: " + showtimeId));
     }
 
-    private void validateBookingRequest(Showtime showtime, BookingRequest request) {
-        validateAvailableSeats(showtime, request.getSeats().size());
-        validateSeatNumbers(showtime, request.getSeats());
-        validateSeatsNotBooked(showtime, request.getSeats());
-        validateNoDuplicateSeats(request.getSeats());
+    private Showtime getShowtime(Long showtimeId) {
+        return showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.SHOWTIME_NOT_FOUND, "Showtime not found with id: " + showtimeId));
+    }
+
+    private void validateBookingRequest(Showtime showtime, List<SeatRequest> seats) {
+        validateAvailableSeats(showtime.getAvailableSeats(), seats.size());
+        validateSeatNumbers(showtime, seats);
+        validateNoDuplicateSeats(seats);
+    }
+
+    private List<Integer> getSeatNumbers(List<SeatRequest> seats) {
+        return seats.stream()
+                .map(SeatRequest::getSeatNumber)
+                .toList();
     }
 
     private void validateNoDuplicateSeats(List<SeatRequest> seats) {
@@ -78,11 +283,11 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void validateAvailableSeats(Showtime showtime, int requestedSeats) {
-        if (showtime.getAvailableSeats() < requestedSeats) {
+    private void validateAvailableSeats(int availableSeats, int requestedSeats) {
+        if (availableSeats < requestedSeats) {
             throw new ConflictException(ErrorCode.INSUFFICIENT_SEATS, String.format(
                     "Not enough seats available. Requested: %d, Available: %d",
-                    requestedSeats, showtime.getAvailableSeats()));
+                    requestedSeats, availableSeats));
         }
     }
 
@@ -96,34 +301,36 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private List<Booking> createBookings(User user, Showtime showtime, List<SeatRequest> seatRequests) {
+    private List<Booking> createBookings(User user, Showtime showtime, List<SeatRequest> seatRequests,
+                                         String orderReference, BookingStatus status, LocalDateTime holdExpiresAt) {
         return seatRequests.stream()
-                .map(seatRequest -> createSingleBooking(user, showtime, seatRequest))
+                .map(seatRequest -> Booking.builder()
+                        .user(user)
+                        .showtime(showtime)
+                        .seatNumber(seatRequest.getSeatNumber())
+                        .seatClaim(seatRequest.getSeatNumber())
+                        .bookingTime(LocalDateTime.now())
+                        .status(status)
+                        .price(ticketPrice)
+                        .orderReference(orderReference)
+                        .holdExpiresAt(holdExpiresAt)
+                        .build())
                 .toList();
     }
 
-    private Booking createSingleBooking(User user, Showtime showtime, SeatRequest seatRequest) {
-        return Booking.builder()
-                .user(user)
-                .showtime(showtime)
-                .seatNumber(seatRequest.getSeatNumber())
-                .bookingTime(LocalDateTime.now())
-                .status(BookingStatus.CONFIRMED)
-                .price(ticketPrice)
-                .build();
-    }
-
-    private void validateSeatsNotBooked(Showtime showtime, List<SeatRequest> seats) {
-        for (SeatRequest seat : seats) {
-            if (bookingRepository.findByShowtimeAndSeatNumber(showtime, seat.getSeatNumber()).isPresent()) {
-                throw new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "Seat " + seat.getSeatNumber() + " is already booked");
-            }
+    private void updateShowtimeSeats(Showtime showtime, int bookedSeats) {
+        if (showtimeRepository.reserveSeats(showtime.getId(), bookedSeats) == 0) {
+            throw new ConflictException(ErrorCode.INSUFFICIENT_SEATS,
+                    "Not enough seats available. Requested: " + bookedSeats);
         }
     }
 
-    private void updateShowtimeSeats(Showtime showtime, int bookedSeats) {
-        showtime.setAvailableSeats(showtime.getAvailableSeats() - bookedSeats);
-        showtimeRepository.save(showtime);
+    private List<Booking> saveBookings(List<Booking> bookings) {
+        try {
+            return bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "One or more of the requested seats is already booked");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -132,6 +339,33 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found with id: " + id));
 
+        checkBookingAccess(booking, "Access denied. You can only view your own bookings.");
+        return bookingMapper.toResponse(booking);
+    }
+
+    @Override
+    public BookingResponse cancelBooking(Long id) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found with id: " + id));
+        checkBookingAccess(booking, "Access denied. You can only cancel your own bookings.");
+
+        cancelBookings(List.of(booking));
+        return bookingMapper.toResponse(bookingRepository.findById(id).orElseThrow());
+    }
+
+    @Override
+    public List<BookingResponse> cancelOrder(String orderReference) {
+        List<Booking> bookings = bookingRepository.findByOrderReference(orderReference);
+        if (bookings.isEmpty()) {
+            throw new NotFoundException(ErrorCode.BOOKING_NOT_FOUND, "Order not found with reference: " + orderReference);
+        }
+        bookings.forEach(booking -> checkBookingAccess(booking, "Access denied. You can only cancel your own bookings."));
+
+        cancelBookings(bookings);
+        return bookingMapper.toResponseList(bookingRepository.findByOrderReference(orderReference));
+    }
+
+    private void checkBookingAccess(Booking booking, String deniedMessage) {
         // Get current authenticated user through Spring Security
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null) {  // If authentication exists, check authorization
@@ -140,27 +374,114 @@ public class BookingServiceImpl implements BookingService {
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
             if (!booking.getUser().getUsername().equals(currentUsername) && !isAdmin) {
-                throw new AccessDeniedException("Access denied. You can only view your own bookings.");
+                throw new AccessDeniedException(deniedMessage);
             }
         }
+    }
 
-        return bookingMapper.toResponse(booking);
+    /**
+     * Cancels the still active bookings with conditional updates only: the booking rows flip status once,
+     * the showtime counter is incremented in place, and no showtime lock is taken.
+     * Cancelled holds keep their expiry timer, which finds nothing left to release.
+     */
+    private void cancelBookings(List<Booking> bookings) {
+        List<Booking> active = bookings.stream()
+                .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                .toList();
+        if (active.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : active) {
+            if (!booking.getShowtime().getStartTime().isAfter(now)) {
+                throw new BadRequestException(ErrorCode.CANCELLATION_CLOSED,
+                        "Cannot cancel booking " + booking.getId() + " for a showtime that has already started");
+            }
+        }
+
+        Map<Long, List<Integer>> seatsByShowtime = active.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getShowtime().getId(),
+                        Collectors.mapping(Booking::getSeatNumber, Collectors.toList())));
+
+        if (bookingRepository.cancelBookings(active.stream().map(Booking::getId).toList()) != active.size()) {
+            throw new ConflictException(ErrorCode.CONCURRENT_MODIFICATION, "Booking was modified concurrently");
+        }
+        seatsByShowtime.forEach((showtimeId, seatNumbers) -> {
+            if (showtimeRepository.releaseSeats(showtimeId, seatNumbers.size()) == 0) {
+                throw new ConflictException(ErrorCode.CONCURRENT_MODIFICATION,
+                        "Seat count of showtime " + showtimeId + " was modified concurrently");
+            }
+            seatInventoryManager.releaseSeats(showtimeId, seatNumbers);
+            waitlistDispatcher.seatsReleased(showtimeId, seatNumbers);
+        });
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingResponse> getUserBookings(String username) {
+    public CursorPage<BookingResponse> getUserBookings(String username, String cursor, Integer size) {
         User user = getUserByUsername(username);
-        return bookingMapper.toResponseList(bookingRepository.findByUser(user));
+        int pageSize = keysetPaging.pageSize(size);
+        List<BookingRow> bookings = bookingRepository.findRowsByUser(user.getId(), PageCursor.decode(cursor),
+                KeysetPaging.fetchLimit(pageSize));
+        return CursorPage.of(bookings, pageSize, BookingRow::id, this::toBookingResponses);
+    }
+
+    // A user's bookings repeat a handful of showtimes, so each distinct showtime is read and mapped once
+    private List<BookingResponse> toBookingResponses(List<BookingRow> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> showtimeIds = bookings.stream().map(BookingRow::showtimeId).collect(Collectors.toSet());
+        Map<Long, ShowtimeResponse> showtimes = showtimeRepository.findRowsByIdIn(showtimeIds).stream()
+                .collect(Collectors.toMap(ShowtimeRow::id, showtimeMapper::toResponse));
+        return bookings.stream()
+                .map(booking -> bookingMapper.toResponse(booking, showtimes.get(booking.showtimeId())))
+                .toList();
     }
 
     @Transactional(readOnly = true)
     @Override
     public boolean isSeatAvailable(Long showtimeId, Integer seatNumber) {
-        return bookingRepository.findByShowtimeAndSeatNumber(
-                        Showtime.builder().id(showtimeId).build(),
-                        seatNumber)
-                .isEmpty();
+        return !bookingRepository.existsByShowtimeIdAndSeatClaim(showtimeId, seatNumber);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<SeatAvailabilityResponse> getSeatAvailability(Long showtimeId, List<Integer> seatNumbers,
+                                                              Integer fromSeat, Integer toSeat) {
+        List<Integer> requestedSeats = resolveRequestedSeats(seatNumbers, fromSeat, toSeat);
+        Set<Integer> bookedSeats = new HashSet<>(bookingRepository.findBookedSeatNumbersIn(showtimeId, requestedSeats));
+        return requestedSeats.stream()
+                .map(seatNumber -> new SeatAvailabilityResponse(seatNumber, !bookedSeats.contains(seatNumber)))
+                .toList();
+    }
+
+    private List<Integer> resolveRequestedSeats(List<Integer> seatNumbers, Integer fromSeat, Integer toSeat) {
+        boolean hasList = seatNumbers != null && !seatNumbers.isEmpty();
+        boolean hasRange = fromSeat != null && toSeat != null;
+        if (hasList == hasRange) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                    "Provide either seatNumbers or both fromSeat and toSeat");
+        }
+
+        // A range is checked before it is expanded, so the caller cannot choose how much gets allocated
+        if (hasRange && (fromSeat < 1 || toSeat < fromSeat || (long) toSeat - fromSeat + 1 > MAX_SEATS_PER_QUERY)) {
+            throw invalidSeatQuery();
+        }
+        List<Integer> requestedSeats = hasList
+                ? seatNumbers.stream().distinct().toList()
+                : IntStream.rangeClosed(fromSeat, toSeat).boxed().toList();
+        if (requestedSeats.size() > MAX_SEATS_PER_QUERY
+                || requestedSeats.stream().anyMatch(seatNumber -> seatNumber == null || seatNumber < 1)) {
+            throw invalidSeatQuery();
+        }
+        return requestedSeats;
+    }
+
+    private static BadRequestException invalidSeatQuery() {
+        return new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                "Seat numbers must be positive and at most " + MAX_SEATS_PER_QUERY + " seats can be checked at once");
     }
 
     private User getUserByUsername(String username) {
@@ -1,5 +1,6 @@
 package guy.shalev.ATnT.Home.assignment.service.impl;
 
+import guy.shalev.ATnT.Home.assignment.config.CacheConfig;
 import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.MovieMapper;
@@ -8,7 +9,15 @@ import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.service.MovieService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +30,19 @@ public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
     private final MovieMapper movieMapper;
+    private final CatalogVersion catalogVersion;
+    private final KeysetPaging keysetPaging;
 
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
     @Override
     public MovieResponse createMovie(MovieRequest request) {
         Movie movie = movieMapper.toEntity(request);
         Movie savedMovie = movieRepository.save(movie);
+        catalogVersion.changed();
         return movieMapper.toResponse(savedMovie);
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIES, sync = true)
     @Transactional(readOnly = true)
     @Override
     public MovieResponse getMovie(Long id) {
@@ -37,13 +51,21 @@ public class MovieServiceImpl implements MovieService {
         return movieMapper.toResponse(movie);
     }
 
+    // Keyed by catalog version, so a page loaded before a write is never served under the version after it
+    @Cacheable(cacheNames = CacheConfig.MOVIE_LISTS, key = "{@catalogVersion.current(), #cursor, #size}", sync = true)
     @Transactional(readOnly = true)
     @Override
-    public List<MovieResponse> getAllMovies() {
-        List<Movie> movies = movieRepository.findAll();
-        return movieMapper.toResponseList(movies);
+    public CursorPage<MovieResponse> getAllMovies(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<MovieResponse> movies = movieRepository.findPageAfter(PageCursor.decode(cursor),
+                KeysetPaging.fetchLimit(pageSize));
+        return CursorPage.of(movies, pageSize, MovieResponse::getId);
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    )
     @Override
     public MovieResponse updateMovie(Long id, MovieRequest request) {
         Movie existingMovie = movieRepository.findById(id)
@@ -57,15 +79,21 @@ public class MovieServiceImpl implements MovieService {
         existingMovie.setReleaseYear(request.getReleaseYear());
 
         Movie updatedMovie = movieRepository.save(existingMovie);
+        catalogVersion.changed();
         return movieMapper.toResponse(updatedMovie);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     @Override
     public void deleteMovie(Long id) {
         if (!movieRepository.existsById(id)) {
             throw new NotFoundException(ErrorCode.MOVIE_NOT_FOUND, "Movie not found with id: " + id);
         }
         movieRepository.deleteById(id);
+        catalogVersion.changed();
     }
 
     @Transactional(readOnly = true)
@@ -1,25 +1,44 @@
 package guy.shalev.ATnT.Home.assignment.service.impl;
 
+import guy.shalev.ATnT.Home.assignment.concurrency.RetryOnConflict;
 import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.ShowtimeMapper;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAllocationResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatMapResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+import guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRowRepository;
 import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatAllocator;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventory;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
+import guy.shalev.ATnT.Home.assignment.service.waitingroom.WaitingRoom;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,8 +48,14 @@ public class ShowtimeServiceImpl implements ShowtimeService {
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final TheaterRepository theaterRepository;
+    private final TheaterRowRepository theaterRowRepository;
     private final ShowtimeMapper showtimeMapper;
+    private final SeatInventoryManager seatInventoryManager;
+    private final WaitingRoom waitingRoom;
+    private final CatalogVersion catalogVersion;
+    private final KeysetPaging keysetPaging;
 
+    @RetryOnConflict
     @Override
     public ShowtimeResponse createShowtime(ShowtimeRequest request) {
         Movie movie = getMovie(request.getMovieId());
@@ -42,7 +67,9 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         validateNoOverlappingShowtimes(theater, request.getStartTime(), endTime);
 
         Showtime showtime = showtimeMapper.toEntity(movie, theater, request, endTime);
-        return showtimeMapper.toResponse(saveAndRefresh(showtime));
+        Showtime savedShowtime = saveAndRefresh(showtime);
+        catalogVersion.changed();
+        return showtimeMapper.toResponse(savedShowtime);
     }
 
     private Movie getMovie(Long movieId) {
@@ -88,26 +115,122 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         return showtimeMapper.toResponse(showtime);
     }
 
+    // No transaction needed: a loaded inventory answers from memory, otherwise two plain reads
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Override
+    public SeatMapResponse getSeatMap(Long id) {
+        SeatInventory inventory = seatInventoryManager.findLoadedInventory(id)
+                .orElseGet(() -> seatInventoryManager.getInventory(showtimeRepository.findById(id)
+                        .orElseThrow(() -> new NotFoundException(ErrorCode.SHOWTIME_NOT_FOUND, "Showtime not found with id: " + id))));
+
+        return SeatMapResponse.builder()
+                .showtimeId(id)
+                .maxSeats(inventory.getMaxSeats())
+                .availableSeats(inventory.getMaxSeats() - inventory.bookedCount())
+                .bookedSeats(Base64.getEncoder().encodeToString(inventory.toByteArray()))
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Override
+    public SeatAllocationResponse findBestAvailableSeats(Long id, int quantity) {
+        validateQuantity(quantity);
+
+        Showtime showtime = showtimeRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.SHOWTIME_NOT_FOUND, "Showtime not found with id: " + id));
+        SeatInventory inventory = seatInventoryManager.getInventory(showtime);
+        List<TheaterRow> rows = theaterRowRepository
+                .findByTheaterIdOrderByPreferenceRankAscFirstSeatNumberAsc(showtime.getTheater().getId());
+
+        return findBestBlock(showtime, inventory, rows, quantity)
+                .orElseThrow(() -> new BadRequestException(ErrorCode.NO_ADJACENT_SEATS,
+                        "No " + quantity + " adjacent seats available for showtime: " + id));
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<ShowtimeResponse> getShowtimesByMovie(Long movieId) {
-        Movie movie = movieRepository.findById(movieId)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.MOVIE_NOT_FOUND, "Movie not found with id: " + movieId));
+    public List<SeatAllocationResponse> findShowtimesWithAdjacentSeats(Long movieId, int quantity,
+                                                                       LocalDateTime from, LocalDateTime to) {
+        validateQuantity(quantity);
+        LocalDateTime searchFrom = from != null ? from : LocalDateTime.now();
+        if (to != null && !to.isAfter(searchFrom)) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER, "Search end must be after its start");
+        }
+        if (!movieRepository.existsById(movieId)) {
+            throw new NotFoundException(ErrorCode.MOVIE_NOT_FOUND, "Movie not found with id: " + movieId);
+        }
+
+        List<Showtime> showtimes = showtimeRepository.findSearchCandidates(movieId, searchFrom, to, quantity);
+        if (showtimes.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, SeatInventory> inventories = seatInventoryManager.getInventories(showtimes);
+        Map<Long, List<TheaterRow>> rowsByTheater = theaterRowRepository
+                .findByTheaterIdIn(showtimes.stream().map(showtime -> showtime.getTheater().getId()).distinct().toList())
+                .stream()
+                .collect(Collectors.groupingBy(row -> row.getTheater().getId()));
+
+        // Everything below works on loaded entities and in-memory bitmaps only, so it is safe to fan out
+        return showtimes.parallelStream()
+                .map(showtime -> findBestBlock(showtime, inventories.get(showtime.getId()),
+                        rowsByTheater.getOrDefault(showtime.getTheater().getId(), List.of()), quantity))
+                .flatMap(Optional::stream)
+                .toList();
+    }
 
-        List<Showtime> showtimes = showtimeRepository.findByMovie(movie);
-        return showtimeMapper.toResponseList(showtimes);
+    private void validateQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER, "Quantity must be positive");
+        }
+    }
+
+    private Optional<SeatAllocationResponse> findBestBlock(Showtime showtime, SeatInventory inventory,
+                                                           List<TheaterRow> rows, int quantity) {
+        // Theaters without a layout are treated as a single row
+        List<TheaterRow> searchRows = !rows.isEmpty() ? rows : List.of(TheaterRow.builder()
+                .firstSeatNumber(1)
+                .seatCount(showtime.getMaxSeats())
+                .preferenceRank(1)
+                .build());
+
+        return SeatAllocator.findBestBlock(inventory.toLongArray(), inventory.getMaxSeats(), searchRows, quantity)
+                .map(block -> SeatAllocationResponse.builder()
+                        .showtimeId(showtime.getId())
+                        .startTime(showtime.getStartTime())
+                        .section(block.row().getSection())
+                        .rowLabel(block.row().getRowLabel())
+                        .seatNumbers(block.seatNumbers())
+                        .build());
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ShowtimeResponse> getShowtimesByTheater(Long theaterId) {
-        Theater theater = theaterRepository.findById(theaterId)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.THEATER_NOT_FOUND, "Theater not found with id: " + theaterId));
+    public CursorPage<ShowtimeResponse> getShowtimesByMovie(Long movieId, String cursor, Integer size) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new NotFoundException(ErrorCode.MOVIE_NOT_FOUND, "Movie not found with id: " + movieId);
+        }
 
-        List<Showtime> showtimes = showtimeRepository.findByTheater(theater);
-        return showtimeMapper.toResponseList(showtimes);
+        int pageSize = keysetPaging.pageSize(size);
+        List<ShowtimeRow> showtimes = showtimeRepository.findRowsByMovie(movieId, PageCursor.decode(cursor),
+                KeysetPaging.fetchLimit(pageSize));
+        return CursorPage.of(showtimes, pageSize, ShowtimeRow::id, showtimeMapper::rowsToResponseList);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ShowtimeResponse> getShowtimesByTheater(Long theaterId, String cursor, Integer size) {
+        if (!theaterRepository.existsById(theaterId)) {
+            throw new NotFoundException(ErrorCode.THEATER_NOT_FOUND, "Theater not found with id: " + theaterId);
+        }
+
+        int pageSize = keysetPaging.pageSize(size);
+        List<ShowtimeRow> showtimes = showtimeRepository.findRowsByTheater(theaterId, PageCursor.decode(cursor),
+                KeysetPaging.fetchLimit(pageSize));
+        return CursorPage.of(showtimes, pageSize, ShowtimeRow::id, showtimeMapper::rowsToResponseList);
+    }
+
+    @RetryOnConflict
     @Override
     public ShowtimeResponse updateShowtime(Long id, ShowtimeRequest request) {
         Showtime existingShowtime = findExistingShowtime(id);
@@ -121,6 +244,8 @@ public class ShowtimeServiceImpl implements ShowtimeService {
 
         Showtime updatedShowtime = updateShowtimeEntity(existingShowtime, movie, theater, request);
         updatedShowtime = saveShowtime(updatedShowtime);
+        seatInventoryManager.evict(id);
+        catalogVersion.changed();
 
         return showtimeMapper.toResponse(updatedShowtime);
     }
@@ -182,6 +307,23 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         return showtimeRepository.save(showtime);
     }
 
+    @RetryOnConflict
+    @Override
+    public ShowtimeResponse setWaitingRoom(Long id, boolean enabled) {
+        Showtime showtime = findExistingShowtime(id);
+        showtime.setWaitingRoom(enabled);
+        Showtime savedShowtime = saveShowtime(showtime);
+
+        if (enabled) {
+            waitingRoom.open(id);
+        } else {
+            waitingRoom.close(id);
+        }
+        catalogVersion.changed();
+        return showtimeMapper.toResponse(savedShowtime);
+    }
+
+    @RetryOnConflict
     @Override
     public void deleteShowtime(Long id) {
         Showtime showtime = showtimeRepository.findById(id)
@@ -193,6 +335,9 @@ public class ShowtimeServiceImpl implements ShowtimeService {
         }
 
         showtimeRepository.deleteById(id);
+        seatInventoryManager.evict(id);
+        waitingRoom.close(id);
+        catalogVersion.changed();
     }
 
     @Transactional(readOnly = true)
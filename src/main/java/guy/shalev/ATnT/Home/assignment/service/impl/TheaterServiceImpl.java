@@ -1,20 +1,37 @@
 package guy.shalev.ATnT.Home.assignment.service.impl;
 
+import guy.shalev.ATnT.Home.assignment.config.CacheConfig;
 import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.TheaterMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterLayoutRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRowRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterLayoutResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRowRepository;
 import guy.shalev.ATnT.Home.assignment.service.TheaterService;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -22,8 +39,12 @@ import java.util.List;
 public class TheaterServiceImpl implements TheaterService {
 
     private final TheaterRepository theaterRepository;
+    private final TheaterRowRepository theaterRowRepository;
     private final TheaterMapper theaterMapper;
+    private final CatalogVersion catalogVersion;
+    private final KeysetPaging keysetPaging;
 
+    @CacheEvict(cacheNames = CacheConfig.THEATER_LISTS, allEntries = true)
     @Override
     public TheaterResponse createTheater(TheaterRequest request) {
         // Check if theater with same name already exists
@@ -34,9 +55,11 @@ public class TheaterServiceImpl implements TheaterService {
 
         Theater theater = theaterMapper.toEntity(request);
         Theater savedTheater = theaterRepository.save(theater);
+        catalogVersion.changed();
         return theaterMapper.toResponse(savedTheater);
     }
 
+    @Cacheable(cacheNames = CacheConfig.THEATERS, sync = true)
     @Transactional(readOnly = true)
     @Override
     public TheaterResponse getTheater(Long id) {
@@ -45,13 +68,21 @@ public class TheaterServiceImpl implements TheaterService {
         return theaterMapper.toResponse(theater);
     }
 
+    // Keyed by catalog version, so a page loaded before a write is never served under the version after it
+    @Cacheable(cacheNames = CacheConfig.THEATER_LISTS, key = "{@catalogVersion.current(), #cursor, #size}", sync = true)
     @Transactional(readOnly = true)
     @Override
-    public List<TheaterResponse> getAllTheaters() {
-        List<Theater> theaters = theaterRepository.findAll();
-        return theaterMapper.toResponseList(theaters);
+    public CursorPage<TheaterResponse> getAllTheaters(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<TheaterResponse> theaters = theaterRepository.findPageAfter(PageCursor.decode(cursor),
+                KeysetPaging.fetchLimit(pageSize));
+        return CursorPage.of(theaters, pageSize, TheaterResponse::getId);
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.THEATERS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.THEATER_LISTS, allEntries = true)
+    )
     @Override
     public TheaterResponse updateTheater(Long id, TheaterRequest request) {
         Theater existingTheater = theaterRepository.findById(id)
@@ -65,13 +96,23 @@ public class TheaterServiceImpl implements TheaterService {
                     }
                 });
 
+        // A layout has to keep covering every seat of the theater
+        if (!existingTheater.getCapacity().equals(request.getCapacity()) && theaterRowRepository.existsByTheaterId(id)) {
+            throw new BadRequestException(ErrorCode.INVALID_THEATER_LAYOUT, "Cannot change the capacity of a theater with a seat layout");
+        }
+
         existingTheater.setName(request.getName());
         existingTheater.setCapacity(request.getCapacity());
 
         Theater updatedTheater = theaterRepository.save(existingTheater);
+        catalogVersion.changed();
         return theaterMapper.toResponse(updatedTheater);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.THEATERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.THEATER_LISTS, allEntries = true)
+    })
     @Override
     public void deleteTheater(Long id) {
         Theater theater = theaterRepository.findById(id)
@@ -83,5 +124,57 @@ public class TheaterServiceImpl implements TheaterService {
         }
 
         theaterRepository.deleteById(id);
+        catalogVersion.changed();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public TheaterLayoutResponse getLayout(Long id) {
+        Theater theater = theaterRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.THEATER_NOT_FOUND, "Theater not found with id: " + id));
+
+        List<TheaterRow> rows = theaterRowRepository.findByTheaterIdOrderByFirstSeatNumber(id);
+        return new TheaterLayoutResponse(id, theater.getCapacity(), theaterMapper.toRowResponseList(rows));
+    }
+
+    @Override
+    public TheaterLayoutResponse updateLayout(Long id, TheaterLayoutRequest request) {
+        Theater theater = theaterRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.THEATER_NOT_FOUND, "Theater not found with id: " + id));
+
+        validateLayout(theater, request.getRows());
+
+        List<TheaterRow> rows = new ArrayList<>();
+        int nextSeatNumber = 1;
+        for (TheaterRowRequest rowRequest : request.getRows()) {
+            rows.add(TheaterRow.builder()
+                    .theater(theater)
+                    .section(rowRequest.getSection())
+                    .rowLabel(rowRequest.getRowLabel())
+                    .firstSeatNumber(nextSeatNumber)
+                    .seatCount(rowRequest.getSeatCount())
+                    .preferenceRank(rowRequest.getPreferenceRank())
+                    .build());
+            nextSeatNumber += rowRequest.getSeatCount();
+        }
+
+        theaterRowRepository.deleteByTheaterId(id);
+        List<TheaterRow> savedRows = theaterRowRepository.saveAll(rows);
+        return new TheaterLayoutResponse(id, theater.getCapacity(), theaterMapper.toRowResponseList(savedRows));
+    }
+
+    private void validateLayout(Theater theater, List<TheaterRowRequest> rows) {
+        int totalSeats = rows.stream().mapToInt(TheaterRowRequest::getSeatCount).sum();
+        if (totalSeats != theater.getCapacity()) {
+            throw new BadRequestException(ErrorCode.INVALID_THEATER_LAYOUT,
+                    "Layout has " + totalSeats + " seats but the theater capacity is " + theater.getCapacity());
+        }
+
+        Set<String> rowLabels = new HashSet<>();
+        for (TheaterRowRequest row : rows) {
+            if (!rowLabels.add(row.getRowLabel())) {
+                throw new BadRequestException(ErrorCode.INVALID_THEATER_LAYOUT, "Duplicate row label: " + row.getRowLabel());
+            }
+        }
     }
 }
@@ -0,0 +1,149 @@
+package guy.shalev.ATnT.Home.assignment.service.impl;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
+import guy.shalev.ATnT.Home.assignment.mapper.WaitlistMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.WaitlistRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.WaitlistEntryResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.entities.WaitlistEntry;
+import guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus;
+import guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.repository.WaitlistEntryRepository;
+import guy.shalev.ATnT.Home.assignment.service.WaitlistService;
+import guy.shalev.ATnT.Home.assignment.service.waitlist.WaitlistDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final UserRepository userRepository;
+    private final WaitlistMapper waitlistMapper;
+    private final WaitlistDispatcher waitlistDispatcher;
+
+    @Override
+    public WaitlistEntryResponse joinWaitlist(String username, WaitlistRequest request) {
+        User user = getUserByUsername(username);
+        Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.SHOWTIME_NOT_FOUND,
+                        "Showtime not found with id: " + request.getShowtimeId()));
+        validateCanJoin(user, showtime, request.getSeatCount());
+
+        WaitlistEntry entry = saveEntry(WaitlistEntry.builder()
+                .user(user)
+                .showtime(showtime)
+                .seatCount(request.getSeatCount())
+                .status(WaitlistStatus.WAITING)
+                .waitingClaim(user.getId())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        WaitlistEntryResponse response = waitlistMapper.toResponse(entry);
+        // The entry joins the line on commit, behind everyone already waiting
+        response.setPosition(waitlistDispatcher.waitingCount(showtime.getId()) + 1);
+
+        WaitingCustomer customer = new WaitingCustomer(entry.getId(), showtime.getId(), username, entry.getSeatCount());
+        afterCommit(() -> waitlistDispatcher.add(customer));
+        return response;
+    }
+
+    // The unique waiting claim catches a concurrent join that passed the check in validateCanJoin as well
+    private WaitlistEntry saveEntry(WaitlistEntry entry) {
+        try {
+            return waitlistEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyWaitlisted(entry.getShowtime().getId());
+        }
+    }
+
+    private void validateCanJoin(User user, Showtime showtime, int seatCount) {
+        if (!showtime.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException(ErrorCode.BOOKING_CLOSED,
+                    "Cannot join the waitlist of showtime " + showtime.getId() + " that has already started");
+        }
+        if (seatCount > showtime.getMaxSeats()) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                    "Showtime " + showtime.getId() + " only has " + showtime.getMaxSeats() + " seats");
+        }
+        if (showtime.getAvailableSeats() >= seatCount) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                    "Showtime " + showtime.getId() + " still has " + showtime.getAvailableSeats() + " seats available");
+        }
+        if (waitlistEntryRepository.existsByUserAndShowtimeIdAndStatus(user, showtime.getId(), WaitlistStatus.WAITING)) {
+            throw alreadyWaitlisted(showtime.getId());
+        }
+    }
+
+    private static ConflictException alreadyWaitlisted(Long showtimeId) {
+        return new ConflictException(ErrorCode.ALREADY_WAITLISTED, "Already on the waitlist for showtime " + showtimeId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<WaitlistEntryResponse> getUserEntries(String username) {
+        User user = getUserByUsername(username);
+        return waitlistEntryRepository.findByUserOrderByCreatedAtDesc(user).stream()
+                .map(entry -> {
+                    WaitlistEntryResponse response = waitlistMapper.toResponse(entry);
+                    if (entry.getStatus() == WaitlistStatus.WAITING) {
+                        response.setPosition(waitlistDispatcher.position(entry.getShowtime().getId(), entry.getId())
+                                .orElse(null));
+                    }
+                    return response;
+                })
+                .toList();
+    }
+
+    @Override
+    public void leaveWaitlist(String username, Long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .filter(found -> found.getUser().getUsername().equals(username))
+                .orElseThrow(() -> new NotFoundException(ErrorCode.RESOURCE_NOT_FOUND,
+                        "Waitlist entry not found with id: " + entryId));
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            return;
+        }
+
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        entry.setWaitingClaim(null);
+        waitlistEntryRepository.save(entry);
+        Long showtimeId = entry.getShowtime().getId();
+        afterCommit(() -> waitlistDispatcher.remove(showtimeId, entryId));
+    }
+
+    // The in-memory line only follows committed entries
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND, "User not found with username: " + username));
+    }
+}
@@ -0,0 +1,101 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.concurrency.HierarchicalTimingWheel;
+import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires PENDING seat holds from a timing wheel instead of polling the bookings table.
+ * Holds still pending at startup are reloaded from the database.
+ */
+@Slf4j
+@Component
+public class HoldExpiryScheduler {
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final BookingRepository bookingRepository;
+    // Resolved lazily because BookingServiceImpl depends on this scheduler
+    private final ObjectProvider<BookingService> bookingService;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final long tickMs;
+    private final int batchSize;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HoldExpiryScheduler(BookingRepository bookingRepository,
+                               ObjectProvider<BookingService> bookingService,
+                               @Value("${app.booking.hold.tick-ms:100}") long tickMs,
+                               @Value("${app.booking.hold.wheel-size:64}") int wheelSize,
+                               @Value("${app.booking.hold.wheel-levels:4}") int wheelLevels,
+                               @Value("${app.booking.hold.release-batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, wheelLevels, System.currentTimeMillis());
+        this.tickMs = tickMs;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Booking> pendingHolds = bookingRepository.findByStatus(BookingStatus.PENDING);
+        pendingHolds.forEach(booking -> schedule(booking.getOrderReference(), booking.getHoldExpiresAt()));
+        log.info("Hold expiry started with {} pending holds", wheel.size());
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void schedule(String orderReference, LocalDateTime expiresAt) {
+        wheel.schedule(orderReference, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public void cancel(String orderReference) {
+        wheel.cancel(orderReference);
+    }
+
+    void releaseDue(long nowMs) {
+        List<String> due = wheel.advance(nowMs);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<String> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                int released = bookingService.getObject().releaseExpiredHolds(batch);
+                log.debug("Released {} seats from {} expired holds", released, batch.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to release {} expired holds, retrying in {} ms", batch.size(), RETRY_DELAY_MS, e);
+                batch.forEach(orderReference -> wheel.schedule(orderReference, nowMs + RETRY_DELAY_MS));
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            releaseDue(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the fixed-rate task
+            log.error("Hold expiry tick failed", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Best-available allocation of adjacent seats over a booked-seat bitmap.
+ * <p>
+ * Rows are tried in ascending preference rank and, among rows of the same rank, the block closest to the
+ * centre of its row wins. Free runs are found a 64-seat word at a time, so booked stretches of a nearly
+ * sold-out auditorium are skipped without looking at individual seats.
+ */
+public final class SeatAllocator {
+
+    private static final Comparator<TheaterRow> ROW_ORDER = Comparator
+            .comparing(TheaterRow::getPreferenceRank)
+            .thenComparing(TheaterRow::getFirstSeatNumber);
+
+    private SeatAllocator() {
+    }
+
+    public record SeatBlock(TheaterRow row, int firstSeatNumber, int quantity) {
+        public List<Integer> seatNumbers() {
+            return IntStream.range(firstSeatNumber, firstSeatNumber + quantity).boxed().toList();
+        }
+    }
+
+    /**
+     * @param bookedSeats booked-seat bitmap in {@link java.util.BitSet#toLongArray()} form
+     * @param maxSeats    seats numbered above this are not on sale
+     */
+    public static Optional<SeatBlock> findBestBlock(long[] bookedSeats, int maxSeats, List<TheaterRow> rows, int quantity) {
+        SeatBlock best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (TheaterRow row : rows.stream().sorted(ROW_ORDER).toList()) {
+            if (best != null && row.getPreferenceRank() > best.row().getPreferenceRank()) {
+                break;
+            }
+            int rowStart = row.getFirstSeatNumber();
+            int rowEnd = Math.min(rowStart + row.getSeatCount(), maxSeats + 1);
+            int start = findCentredRun(bookedSeats, rowStart, rowEnd, quantity);
+            if (start >= 0) {
+                long distance = Math.abs(2L * start + quantity - rowStart - (rowStart + row.getSeatCount()));
+                if (distance < bestDistance) {
+                    best = new SeatBlock(row, start, quantity);
+                    bestDistance = distance;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Start of the free block of {@code quantity} seats in {@code [from, to)} closest to the middle of that range,
+     * or -1 if no free run is long enough.
+     */
+    static int findCentredRun(long[] bookedSeats, int from, int to, int quantity) {
+        int idealStart = (from + to - quantity) / 2;
+        int bestStart = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int free = nextClearBit(bookedSeats, from, to);
+        while (to - free >= quantity) {
+            int booked = nextSetBit(bookedSeats, free, to);
+            if (booked - free >= quantity) {
+                int start = Math.max(free, Math.min(idealStart, booked - quantity));
+                int distance = Math.abs(start - idealStart);
+                if (distance < bestDistance) {
+                    bestStart = start;
+                    bestDistance = distance;
+                }
+                // Later runs only move further away from the middle
+                if (free >= idealStart) {
+                    break;
+                }
+            }
+            free = nextClearBit(bookedSeats, booked, to);
+        }
+        return bestStart;
+    }
+
+    static int nextSetBit(long[] words, int from, int limit) {
+        if (from >= limit) {
+            return limit;
+        }
+        int wordIndex = from >>> 6;
+        if (wordIndex >= words.length) {
+            return limit;
+        }
+        long word = words[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex >= words.length || (long) wordIndex << 6 >= limit) {
+                return limit;
+            }
+            word = words[wordIndex];
+        }
+        return Math.min((wordIndex << 6) + Long.numberOfTrailingZeros(word), limit);
+    }
+
+    static int nextClearBit(long[] words, int from, int limit) {
+        if (from >= limit) {
+            return limit;
+        }
+        int wordIndex = from >>> 6;
+        if (wordIndex >= words.length) {
+            return from;
+        }
+        long word = ~words[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex >= words.length) {
+                return Math.min(wordIndex << 6, limit);
+            }
+            if ((long) wordIndex << 6 >= limit) {
+                return limit;
+            }
+            word = ~words[wordIndex];
+        }
+        return Math.min((wordIndex << 6) + Long.numberOfTrailingZeros(word), limit);
+    }
+}
@@ -0,0 +1,106 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booked-seat bitmap for a single showtime. Bit {@code n} is set when seat {@code n} is taken.
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so that callers running on virtual threads
+ * never pin their carrier thread while waiting for a busy showtime.
+ */
+public class SeatInventory {
+
+    private final int maxSeats;
+    private final BitSet bookedSeats;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SeatInventory(int maxSeats, Collection<Integer> bookedSeatNumbers) {
+        this.maxSeats = maxSeats;
+        this.bookedSeats = new BitSet(maxSeats + 1);
+        bookedSeatNumbers.forEach(bookedSeats::set);
+    }
+
+    public int getMaxSeats() {
+        return maxSeats;
+    }
+
+    public boolean isBooked(int seatNumber) {
+        lock.lock();
+        try {
+            return bookedSeats.get(seatNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int bookedCount() {
+        lock.lock();
+        try {
+            return bookedSeats.cardinality();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copy of the booked-seat bitmap in {@link BitSet#toByteArray()} form.
+     */
+    public byte[] toByteArray() {
+        lock.lock();
+        try {
+            return bookedSeats.toByteArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copy of the booked-seat bitmap in {@link BitSet#toLongArray()} form.
+     */
+    public long[] toLongArray() {
+        lock.lock();
+        try {
+            return bookedSeats.toLongArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Claims all requested seats at once, or none of them.
+     *
+     * @return the first requested seat that is already taken, or empty if every seat was claimed
+     */
+    public Optional<Integer> claim(Collection<Integer> seatNumbers) {
+        BitSet requested = toBitSet(seatNumbers);
+        lock.lock();
+        try {
+            if (requested.intersects(bookedSeats)) {
+                requested.and(bookedSeats);
+                return Optional.of(requested.nextSetBit(0));
+            }
+            bookedSeats.or(requested);
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Collection<Integer> seatNumbers) {
+        BitSet released = toBitSet(seatNumbers);
+        lock.lock();
+        try {
+            bookedSeats.andNot(released);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BitSet toBitSet(Collection<Integer> seatNumbers) {
+        BitSet seats = new BitSet(maxSeats + 1);
+        seatNumbers.forEach(seats::set);
+        return seats;
+    }
+}
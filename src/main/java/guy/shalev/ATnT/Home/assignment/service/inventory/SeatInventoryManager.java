@@ -0,0 +1,172 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookedSeat;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one {@link SeatInventory} per showtime, loaded from the bookings table on first use.
+ * Claims made inside a transaction are rolled back in memory if the transaction does not commit,
+ * and releases and evictions made inside a transaction only take effect once it commits.
+ * The {@linkplain #getVersion() version} moves on every committed claim or release, which tells readers
+ * that seat counts may have changed without querying them.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatInventoryManager {
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, SeatInventory> inventories = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public SeatInventory getInventory(Showtime showtime) {
+        SeatInventory inventory = inventories.get(showtime.getId());
+        if (inventory != null) {
+            return inventory;
+        }
+
+        SeatInventory loaded = new SeatInventory(showtime.getMaxSeats(),
+                bookingRepository.findBookedSeatNumbers(showtime.getId()));
+        SeatInventory existing = inventories.putIfAbsent(showtime.getId(), loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Same as {@link #getInventory(Showtime)} for many showtimes, loading the missing ones with a single query.
+     */
+    public Map<Long, SeatInventory> getInventories(Collection<Showtime> showtimes) {
+        Set<Long> missingIds = showtimes.stream()
+                .map(Showtime::getId)
+                .filter(id -> !inventories.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            Map<Long, List<Integer>> bookedSeats = bookingRepository.findBookedSeats(missingIds).stream()
+                    .collect(Collectors.groupingBy(BookedSeat::showtimeId,
+                            Collectors.mapping(BookedSeat::seatNumber, Collectors.toList())));
+            showtimes.stream()
+                    .filter(showtime -> missingIds.contains(showtime.getId()))
+                    .forEach(showtime -> inventories.putIfAbsent(showtime.getId(), new SeatInventory(
+                            showtime.getMaxSeats(), bookedSeats.getOrDefault(showtime.getId(), List.of()))));
+        }
+
+        Map<Long, SeatInventory> result = new HashMap<>();
+        showtimes.forEach(showtime -> result.put(showtime.getId(), inventories.get(showtime.getId())));
+        return result;
+    }
+
+    public Optional<SeatInventory> findLoadedInventory(Long showtimeId) {
+        return Optional.ofNullable(inventories.get(showtimeId));
+    }
+
+    public void claimSeats(Showtime showtime, List<Integer> seatNumbers) {
+        SeatInventory inventory = getInventory(showtime);
+        inventory.claim(seatNumbers).ifPresent(seatNumber -> {
+            throw new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "Seat " + seatNumber + " is already booked");
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentLedger().recordClaim(inventory, seatNumbers);
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Frees seats in memory once the current transaction commits, or immediately outside a transaction.
+     * Showtimes that are not loaded yet need nothing, they will be read fresh from the database.
+     */
+    public void releaseSeats(Long showtimeId, Collection<Integer> seatNumbers) {
+        SeatInventory inventory = inventories.get(showtimeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentLedger().recordRelease(inventory, seatNumbers);
+        } else {
+            if (inventory != null) {
+                inventory.release(seatNumbers);
+            }
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the inventory of a showtime once the current transaction commits, or immediately outside a transaction,
+     * so that the next reader loads it from committed rows and not from the state this transaction is replacing.
+     */
+    public void evict(Long showtimeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentLedger().recordEviction(inventories, showtimeId);
+        } else {
+            inventories.remove(showtimeId);
+            version.incrementAndGet();
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    private ClaimLedger currentLedger() {
+        ClaimLedger ledger = (ClaimLedger) TransactionSynchronizationManager.getResource(this);
+        if (ledger == null) {
+            ledger = new ClaimLedger(this, version);
+            TransactionSynchronizationManager.bindResource(this, ledger);
+            TransactionSynchronizationManager.registerSynchronization(ledger);
+        }
+        return ledger;
+    }
+
+    private static class ClaimLedger implements TransactionSynchronization {
+        private final Object resourceKey;
+        private final AtomicLong version;
+        private final List<Runnable> rollbackActions = new ArrayList<>();
+        private final List<Runnable> commitActions = new ArrayList<>();
+
+        ClaimLedger(Object resourceKey, AtomicLong version) {
+            this.resourceKey = resourceKey;
+            this.version = version;
+        }
+
+        void recordClaim(SeatInventory inventory, List<Integer> seatNumbers) {
+            List<Integer> claimed = List.copyOf(seatNumbers);
+            rollbackActions.add(() -> inventory.release(claimed));
+        }
+
+        void recordRelease(SeatInventory inventory, Collection<Integer> seatNumbers) {
+            if (inventory != null) {
+                List<Integer> released = List.copyOf(seatNumbers);
+                commitActions.add(() -> inventory.release(released));
+            }
+        }
+
+        void recordEviction(Map<Long, SeatInventory> inventories, Long showtimeId) {
+            commitActions.add(() -> inventories.remove(showtimeId));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+            if (status == STATUS_COMMITTED) {
+                commitActions.forEach(Runnable::run);
+                version.incrementAndGet();
+            } else {
+                rollbackActions.forEach(Runnable::run);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package guy.shalev.ATnT.Home.assignment.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only tells that another
+     * page follows and is dropped, and the cursor points after the last row that is returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, ToLongFunction<E> idOf,
+                                          Function<List<E>, List<T>> mapper) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, size);
+        return new CursorPage<>(mapper.apply(page), PageCursor.encode(idOf.applyAsLong(page.get(size - 1))));
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int size, ToLongFunction<T> idOf) {
+        return of(rows, size, idOf, Function.identity());
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,38 @@
+package guy.shalev.ATnT.Home.assignment.service.pagination;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page size policy for list endpoints: requests without a size get the default, larger ones are capped.
+ */
+@Component
+public class KeysetPaging {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public KeysetPaging(@Value("${app.pagination.default-size:50}") int defaultSize,
+                        @Value("${app.pagination.max-size:200}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER, "Page size must be at least 1");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // One row more than the page, so the query itself tells whether another page follows
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+}
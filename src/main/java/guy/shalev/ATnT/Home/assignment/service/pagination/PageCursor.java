@@ -0,0 +1,44 @@
+package guy.shalev.ATnT.Home.assignment.service.pagination;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor carries the id of the last row a client has seen; the next
+ * page is read with {@code id > :afterId ORDER BY id} straight off an index, so deep pages cost the same as
+ * the first one.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(long afterId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Ids start at 1, so the first page reads after 0
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(PREFIX)) {
+                long afterId = Long.parseLong(decoded.substring(PREFIX.length()));
+                if (afterId >= 0) {
+                    return afterId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the error below; NumberFormatException is an IllegalArgumentException too
+        }
+        throw new BadRequestException(ErrorCode.INVALID_PAGE_CURSOR, "Invalid page cursor: " + cursor);
+    }
+}
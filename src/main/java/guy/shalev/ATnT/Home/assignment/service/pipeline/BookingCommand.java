@@ -0,0 +1,6 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+
+public record BookingCommand(String username, BookingRequest request) {
+}
@@ -0,0 +1,20 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+
+import java.util.List;
+
+/**
+ * Result of one command inside a group commit: either the committed bookings or the business error
+ * that rejected the command without affecting the rest of the batch.
+ */
+public record BookingOutcome(List<BookingResponse> bookings, RuntimeException failure) {
+
+    public static BookingOutcome success(List<BookingResponse> bookings) {
+        return new BookingOutcome(bookings, null);
+    }
+
+    public static BookingOutcome failure(RuntimeException failure) {
+        return new BookingOutcome(null, failure);
+    }
+}
@@ -0,0 +1,176 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.concurrency.WorkerThreads;
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Routes bookings into one bounded queue per showtime. At most one worker drains a queue at a time,
+ * so each showtime has a single writer that commits up to {@code batchSize} bookings per transaction
+ * instead of every request queueing on the showtime row lock. A lane is dropped once it is drained and idle,
+ * so only showtimes with bookings in flight are held in memory.
+ */
+@Slf4j
+@Component
+public class BookingPipeline {
+
+    private final BookingService bookingService;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public BookingPipeline(BookingService bookingService,
+                           @Value("${app.booking.pipeline.enabled:false}") boolean enabled,
+                           @Value("${app.booking.pipeline.queue-capacity:1024}") int queueCapacity,
+                           @Value("${app.booking.pipeline.batch-size:64}") int batchSize,
+                           @Value("${app.booking.pipeline.workers:4}") int workers,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.bookingService = bookingService;
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(workers, WorkerThreads.factory("booking-pipeline-", virtualThreads));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the booking and blocks until the batch containing it has committed.
+     */
+    public List<BookingResponse> book(String username, BookingRequest request) {
+        try {
+            return submit(username, request).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Booking failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for booking to commit", e);
+        }
+    }
+
+    public CompletableFuture<List<BookingResponse>> submit(String username, BookingRequest request) {
+        PendingBooking pending = new PendingBooking(new BookingCommand(username, request), new CompletableFuture<>());
+        AtomicBoolean queued = new AtomicBoolean();
+        // Offered inside compute, so a lane is never retired between being looked up and receiving the booking
+        Lane lane = lanes.compute(request.getShowtimeId(), (showtimeId, existing) -> {
+            Lane target = existing != null ? existing : new Lane(showtimeId);
+            queued.set(target.queue.offer(pending));
+            return target;
+        });
+        if (!queued.get()) {
+            throw new ConflictException(ErrorCode.BOOKING_QUEUE_FULL,
+                    "Too many pending bookings for showtime " + request.getShowtimeId() + ", please try again");
+        }
+        lane.scheduleDrain();
+        return pending.result();
+    }
+
+    int laneCount() {
+        return lanes.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+    }
+
+    private void commit(Long showtimeId, List<PendingBooking> batch) {
+        List<BookingOutcome> outcomes;
+        try {
+            outcomes = bookingService.createBookingBatch(showtimeId,
+                    batch.stream().map(PendingBooking::command).toList());
+        } catch (RuntimeException e) {
+            // The group commit failed as a whole, so commit each booking on its own
+            log.debug("Group commit of {} bookings for showtime {} failed, falling back", batch.size(), showtimeId, e);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            BookingOutcome outcome = outcomes.get(i);
+            if (outcome.failure() != null) {
+                batch.get(i).result().completeExceptionally(outcome.failure());
+            } else {
+                batch.get(i).result().complete(outcome.bookings());
+            }
+        }
+    }
+
+    private void commitAlone(PendingBooking pending) {
+        try {
+            BookingCommand command = pending.command();
+            pending.result().complete(bookingService.createBooking(command.username(), command.request()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingBooking(BookingCommand command, CompletableFuture<List<BookingResponse>> result) {
+    }
+
+    private final class Lane {
+        private final Long showtimeId;
+        private final BlockingQueue<PendingBooking> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Lane(Long showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<PendingBooking> batch = new ArrayList<>(batchSize);
+                queue.drainTo(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    commit(showtimeId, batch);
+                }
+            } finally {
+                draining.set(false);
+                // Picks up anything queued after drainTo, and keeps other lanes fair by yielding the worker
+                if (!queue.isEmpty()) {
+                    scheduleDrain();
+                } else {
+                    retireIfIdle();
+                }
+            }
+        }
+
+        // Runs atomically with submit's offer; a booking arriving afterwards simply gets a new lane
+        private void retireIfIdle() {
+            lanes.computeIfPresent(showtimeId,
+                    (id, lane) -> lane == this && queue.isEmpty() && !draining.get() ? null : lane);
+        }
+    }
+}
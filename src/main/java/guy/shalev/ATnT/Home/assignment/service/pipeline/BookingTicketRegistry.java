@@ -0,0 +1,210 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.concurrency.WorkerThreads;
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingTicketResponse;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingTicketStatus;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts bookings for background processing and tracks their outcome under a ticket id.
+ * Bookings go through the {@link BookingPipeline} when it is enabled, otherwise through a bounded worker pool.
+ * Finished tickets are kept for {@code app.booking.async.retention-seconds} and then forgotten, swept every
+ * {@code app.booking.async.purge-interval-ms} and whenever a ticket is submitted or looked up.
+ */
+@Slf4j
+@Component
+public class BookingTicketRegistry {
+
+    private static final Duration MAX_AWAIT = Duration.ofSeconds(60);
+
+    private final BookingService bookingService;
+    private final BookingPipeline bookingPipeline;
+    private final Duration retention;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    // Finished tickets in completion order, so expired ones are always at the head
+    private final Queue<Ticket> finished = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-ticket-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookingTicketRegistry(BookingService bookingService,
+                                 BookingPipeline bookingPipeline,
+                                 @Value("${app.booking.async.workers:8}") int workers,
+                                 @Value("${app.booking.async.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.booking.async.retention-seconds:600}") long retentionSeconds,
+                                 @Value("${app.booking.async.purge-interval-ms:60000}") long purgeIntervalMs,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.bookingService = bookingService;
+        this.bookingPipeline = bookingPipeline;
+        this.retention = Duration.ofSeconds(retentionSeconds);
+        // Still a fixed pool with virtual threads: the worker count bounds how many bookings hit the database at once
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), WorkerThreads.factory("booking-async-", virtualThreads));
+        sweeper.scheduleWithFixedDelay(this::sweep, purgeIntervalMs, purgeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public BookingTicketResponse submit(String username, BookingRequest request) {
+        purgeExpired();
+
+        CompletableFuture<List<BookingResponse>> result;
+        try {
+            result = bookingPipeline.isEnabled()
+                    ? bookingPipeline.submit(username, request)
+                    : CompletableFuture.supplyAsync(() -> bookingService.createBooking(username, request), workers);
+        } catch (RejectedExecutionException e) {
+            throw new ConflictException(ErrorCode.BOOKING_QUEUE_FULL, "Too many pending bookings, please try again");
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), username, LocalDateTime.now());
+        tickets.put(ticket.id, ticket);
+        result.whenComplete((bookings, failure) -> {
+            ticket.complete(bookings, failure);
+            finished.add(ticket);
+        });
+        return ticket.toResponse();
+    }
+
+    public BookingTicketResponse getTicket(String ticketId, String username) {
+        return findTicket(ticketId, username).toResponse();
+    }
+
+    /**
+     * Completes when the ticket is resolved or after {@code timeout} (capped at one minute), whichever comes first.
+     */
+    public CompletableFuture<BookingTicketResponse> awaitTicket(String ticketId, String username, Duration timeout) {
+        Ticket ticket = findTicket(ticketId, username);
+        Duration wait = timeout.compareTo(MAX_AWAIT) > 0 ? MAX_AWAIT : timeout;
+        return ticket.outcome
+                .handle((bookings, failure) -> ticket.toResponse())
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(response -> response != null ? response : ticket.toResponse());
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+        workers.shutdown();
+    }
+
+    private Ticket findTicket(String ticketId, String username) {
+        purgeExpired();
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.username.equals(username)) {
+            throw new NotFoundException(ErrorCode.BOOKING_NOT_FOUND, "Booking ticket not found with id: " + ticketId);
+        }
+        return ticket;
+    }
+
+    int ticketCount() {
+        return tickets.size();
+    }
+
+    private void sweep() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the scheduled task
+            log.error("Booking ticket sweep failed", e);
+        }
+    }
+
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        for (Ticket head = finished.peek(); head != null && head.completedAt.isBefore(cutoff); head = finished.peek()) {
+            if (finished.remove(head)) {
+                tickets.remove(head.id);
+            }
+        }
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final String username;
+        private final LocalDateTime submittedAt;
+        // Completed only after completedAt is set, so a finished ticket never reads without it
+        private final CompletableFuture<List<BookingResponse>> outcome = new CompletableFuture<>();
+        private volatile LocalDateTime completedAt;
+
+        private Ticket(String id, String username, LocalDateTime submittedAt) {
+            this.id = id;
+            this.username = username;
+            this.submittedAt = submittedAt;
+        }
+
+        private void complete(List<BookingResponse> bookings, Throwable failure) {
+            completedAt = LocalDateTime.now();
+            if (failure != null) {
+                outcome.completeExceptionally(failure);
+            } else {
+                outcome.complete(bookings);
+            }
+        }
+
+        private BookingTicketResponse toResponse() {
+            BookingTicketResponse.BookingTicketResponseBuilder response = BookingTicketResponse.builder()
+                    .ticketId(id)
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt);
+            if (!outcome.isDone()) {
+                return response.status(BookingTicketStatus.QUEUED).build();
+            }
+            try {
+                return response.status(BookingTicketStatus.CONFIRMED).bookings(outcome.join()).build();
+            } catch (CompletionException e) {
+                return failed(response, e.getCause());
+            }
+        }
+
+        private static BookingTicketResponse failed(BookingTicketResponse.BookingTicketResponseBuilder response,
+                                                     Throwable failure) {
+            ErrorCode errorCode = null;
+            if (failure instanceof NotFoundException e) {
+                errorCode = e.getErrorCode();
+            } else if (failure instanceof BadRequestException e) {
+                errorCode = e.getErrorCode();
+            } else if (failure instanceof ConflictException e) {
+                errorCode = e.getErrorCode();
+            }
+            if (errorCode == null) {
+                log.error("Asynchronous booking failed unexpectedly", failure);
+                return response.status(BookingTicketStatus.FAILED)
+                        .errorMessage("An unexpected error occurred")
+                        .build();
+            }
+            return response.status(BookingTicketStatus.FAILED)
+                    .errorCode(errorCode.getCode())
+                    .errorMessage(failure.getMessage())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package guy.shalev.ATnT.Home.assignment.service.waitingroom;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FIFO admission counter for one waiting room. Each newcomer gets the next sequence number and the
+ * head of the line moves forward at {@code admitPerSecond}, so position checks are O(1) and need no timer.
+ * An idle room banks at most one second of admissions, which lets a short burst in without waiting.
+ */
+public class AdmissionQueue {
+
+    private final int admitPerSecond;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long issued;
+    private long admitted;
+    private double credit;
+    private long lastAdvanceMs;
+
+    public AdmissionQueue(int admitPerSecond, long startMs) {
+        if (admitPerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be positive");
+        }
+        this.admitPerSecond = admitPerSecond;
+        this.credit = admitPerSecond;
+        this.lastAdvanceMs = startMs;
+    }
+
+    /**
+     * Puts a newcomer at the back of the line and returns its sequence number, starting at 1.
+     */
+    public long join(long nowMs) {
+        lock.lock();
+        try {
+            advance(nowMs);
+            issued++;
+            admitOut();
+            return issued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Highest sequence number that has been let in; every sequence number up to it is admitted.
+     */
+    public long admittedThrough(long nowMs) {
+        lock.lock();
+        try {
+            advance(nowMs);
+            admitOut();
+            return admitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long waiting(long nowMs) {
+        lock.lock();
+        try {
+            advance(nowMs);
+            admitOut();
+            return issued - admitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void advance(long nowMs) {
+        if (nowMs > lastAdvanceMs) {
+            credit = Math.min(admitPerSecond, credit + (nowMs - lastAdvanceMs) * admitPerSecond / 1000.0);
+            lastAdvanceMs = nowMs;
+        }
+    }
+
+    private void admitOut() {
+        long admissions = Math.min((long) credit, issued - admitted);
+        admitted += admissions;
+        credit -= admissions;
+    }
+}
@@ -0,0 +1,242 @@
+package guy.shalev.ATnT.Home.assignment.service.waitingroom;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.TooManyRequestsException;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.QueueTokenResponse;
+import guy.shalev.ATnT.Home.assignment.model.enums.QueueTokenStatus;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for showtimes flagged with a waiting room. Users join a per-showtime queue and get a token;
+ * the queue lets them in at {@code app.waiting-room.admit-per-second}, and only admitted tokens may book,
+ * for {@code app.waiting-room.admission-ttl-seconds} from the moment their turn is seen.
+ * Showtimes without a waiting room are not affected. Queues live in memory on this node.
+ */
+@Slf4j
+@Component
+public class WaitingRoom {
+
+    public static final String TOKEN_HEADER = "Queue-Token";
+    private static final long SWEEP_INTERVAL_MS = 10_000;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final int admitPerSecond;
+    private final long admissionTtlMs;
+    private final long maxQueueSize;
+    private final Map<Long, AdmissionQueue> rooms = new ConcurrentHashMap<>();
+    private final Map<String, QueueTicket> tickets = new ConcurrentHashMap<>();
+    // One live ticket per user and showtime, so joining again keeps the user's place in line
+    private final Map<String, QueueTicket> ticketsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    public WaitingRoom(ShowtimeRepository showtimeRepository,
+                       @Value("${app.waiting-room.admit-per-second:20}") int admitPerSecond,
+                       @Value("${app.waiting-room.admission-ttl-seconds:300}") long admissionTtlSeconds,
+                       @Value("${app.waiting-room.max-queue-size:100000}") long maxQueueSize) {
+        this.showtimeRepository = showtimeRepository;
+        this.admitPerSecond = admitPerSecond;
+        this.admissionTtlMs = admissionTtlSeconds * 1000;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Long> showtimeIds = showtimeRepository.findWaitingRoomShowtimeIds();
+        showtimeIds.forEach(this::open);
+        if (!showtimeIds.isEmpty()) {
+            log.info("Opened waiting rooms for {} showtimes", showtimeIds.size());
+        }
+    }
+
+    /**
+     * Opens the room once the current transaction commits, or immediately outside a transaction,
+     * so that a flag change that rolls back never takes effect in memory.
+     */
+    public void open(Long showtimeId) {
+        afterCommit(() -> rooms.computeIfAbsent(showtimeId,
+                id -> new AdmissionQueue(admitPerSecond, System.currentTimeMillis())));
+    }
+
+    /**
+     * Closes the room and drops its tokens, with the same timing as {@link #open(Long)}.
+     */
+    public void close(Long showtimeId) {
+        afterCommit(() -> {
+            rooms.remove(showtimeId);
+            tickets.values().removeIf(ticket -> ticket.showtimeId.equals(showtimeId));
+            ticketsByUser.values().removeIf(ticket -> ticket.showtimeId.equals(showtimeId));
+        });
+    }
+
+    public boolean isOpen(Long showtimeId) {
+        return rooms.containsKey(showtimeId);
+    }
+
+    public QueueTokenResponse join(String username, Long showtimeId) {
+        AdmissionQueue queue = rooms.get(showtimeId);
+        if (queue == null) {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST_PARAMETER,
+                    "Showtime " + showtimeId + " has no waiting room");
+        }
+
+        long now = System.currentTimeMillis();
+        sweep(now);
+        QueueTicket ticket = ticketsByUser.compute(userKey(username, showtimeId), (key, existing) -> {
+            if (existing != null && !existing.isExpired(queue, now)) {
+                return existing;
+            }
+            if (existing != null) {
+                tickets.remove(existing.token);
+            }
+            if (queue.waiting(now) >= maxQueueSize) {
+                throw new TooManyRequestsException(ErrorCode.WAITING_ROOM_FULL,
+                        "The waiting room for showtime " + showtimeId + " is full, please try again later",
+                        estimateWaitSeconds(maxQueueSize));
+            }
+            QueueTicket issued = new QueueTicket(UUID.randomUUID().toString(), username, showtimeId, queue.join(now));
+            tickets.put(issued.token, issued);
+            return issued;
+        });
+        return toResponse(ticket, queue, now);
+    }
+
+    public QueueTokenResponse getStatus(String token, String username) {
+        QueueTicket ticket = tickets.get(token);
+        AdmissionQueue queue = ticket != null ? rooms.get(ticket.showtimeId) : null;
+        if (queue == null || !ticket.username.equals(username)) {
+            throw new NotFoundException(ErrorCode.RESOURCE_NOT_FOUND, "Queue token not found: " + token);
+        }
+        return toResponse(ticket, queue, System.currentTimeMillis());
+    }
+
+    /**
+     * Lets the booking through if the showtime has no waiting room or {@code token} is admitted for it,
+     * otherwise rejects it with 429.
+     */
+    public void checkAdmission(String username, Long showtimeId, String token) {
+        AdmissionQueue queue = rooms.get(showtimeId);
+        if (queue == null) {
+            return;
+        }
+
+        QueueTicket ticket = token != null ? tickets.get(token) : null;
+        if (ticket == null || !ticket.username.equals(username) || !ticket.showtimeId.equals(showtimeId)) {
+            throw new TooManyRequestsException(ErrorCode.WAITING_ROOM_NOT_ADMITTED,
+                    "Showtime " + showtimeId + " is on sale through a waiting room, please join the queue first");
+        }
+
+        long now = System.currentTimeMillis();
+        if (!ticket.isAdmitted(queue, now)) {
+            long position = ticket.position(queue, now);
+            throw new TooManyRequestsException(ErrorCode.WAITING_ROOM_NOT_ADMITTED,
+                    "Still waiting in the queue at position " + position, estimateWaitSeconds(position));
+        }
+        if (ticket.isExpired(queue, now)) {
+            throw new TooManyRequestsException(ErrorCode.WAITING_ROOM_NOT_ADMITTED,
+                    "Admission from the waiting room has expired, please join the queue again");
+        }
+    }
+
+    private QueueTokenResponse toResponse(QueueTicket ticket, AdmissionQueue queue, long now) {
+        QueueTokenResponse.QueueTokenResponseBuilder response = QueueTokenResponse.builder()
+                .token(ticket.token)
+                .showtimeId(ticket.showtimeId);
+        if (!ticket.isAdmitted(queue, now)) {
+            long position = ticket.position(queue, now);
+            return response.status(QueueTokenStatus.WAITING)
+                    .position(position)
+                    .estimatedWaitSeconds(estimateWaitSeconds(position))
+                    .build();
+        }
+        long expiresAt = ticket.admittedAtMs + admissionTtlMs;
+        return response.status(ticket.isExpired(queue, now) ? QueueTokenStatus.EXPIRED : QueueTokenStatus.ADMITTED)
+                .admissionExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private long estimateWaitSeconds(long position) {
+        return (position + admitPerSecond - 1) / admitPerSecond;
+    }
+
+    // Forgets tickets whose admission ran out, at most once per interval
+    private void sweep(long now) {
+        long due = nextSweepAt.get();
+        if (now < due || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_MS)) {
+            return;
+        }
+        tickets.values().removeIf(ticket -> {
+            AdmissionQueue queue = rooms.get(ticket.showtimeId);
+            boolean stale = queue == null || ticket.isExpired(queue, now);
+            if (stale) {
+                ticketsByUser.remove(userKey(ticket.username, ticket.showtimeId), ticket);
+            }
+            return stale;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String userKey(String username, Long showtimeId) {
+        return showtimeId + ":" + username;
+    }
+
+    private final class QueueTicket {
+        private final String token;
+        private final String username;
+        private final Long showtimeId;
+        private final long sequence;
+        // When the ticket was first seen admitted, 0 while still waiting
+        private volatile long admittedAtMs;
+
+        QueueTicket(String token, String username, Long showtimeId, long sequence) {
+            this.token = token;
+            this.username = username;
+            this.showtimeId = showtimeId;
+            this.sequence = sequence;
+        }
+
+        boolean isAdmitted(AdmissionQueue queue, long now) {
+            if (admittedAtMs == 0 && sequence <= queue.admittedThrough(now)) {
+                admittedAtMs = now;
+            }
+            return admittedAtMs != 0;
+        }
+
+        boolean isExpired(AdmissionQueue queue, long now) {
+            return isAdmitted(queue, now) && now - admittedAtMs > admissionTtlMs;
+        }
+
+        long position(AdmissionQueue queue, long now) {
+            return Math.max(0, sequence - queue.admittedThrough(now));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package guy.shalev.ATnT.Home.assignment.service.waitlist;
+
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer;
+import guy.shalev.ATnT.Home.assignment.repository.WaitlistEntryRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventory;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the waiting customers of every showtime in join order and offers them seats as they are freed.
+ * Released seats are collected per showtime and handed out every {@code app.booking.waitlist.batch-ms},
+ * so a burst of cancellations or expired holds costs one pass over the line instead of one per seat.
+ * Seats too few for anyone in line stay queued until enough are freed to seat the next party.
+ * An offer is an ordinary seat hold for the customer, which expires back into the waitlist if not confirmed.
+ */
+@Slf4j
+@Component
+public class WaitlistDispatcher {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final SeatInventoryManager seatInventoryManager;
+    // Resolved lazily because BookingServiceImpl depends on this dispatcher
+    private final ObjectProvider<BookingService> bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final long batchMs;
+    private final Map<Long, NavigableMap<Long, WaitingCustomer>> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Integer>> releasedSeats = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WaitlistDispatcher(WaitlistEntryRepository waitlistEntryRepository,
+                              SeatInventoryManager seatInventoryManager,
+                              ObjectProvider<BookingService> bookingService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.booking.waitlist.batch-ms:200}") long batchMs) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.seatInventoryManager = seatInventoryManager;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchMs = batchMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<WaitingCustomer> waiting = waitlistEntryRepository.findWaitingCustomers();
+        waiting.forEach(this::add);
+        log.info("Waitlist dispatch started with {} waiting customers", waiting.size());
+        dispatcher.scheduleWithFixedDelay(this::tick, batchMs, batchMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+    }
+
+    public void add(WaitingCustomer customer) {
+        waitlists.computeIfAbsent(customer.showtimeId(), id -> new ConcurrentSkipListMap<>())
+                .put(customer.entryId(), customer);
+    }
+
+    public void remove(Long showtimeId, Long entryId) {
+        NavigableMap<Long, WaitingCustomer> waitlist = waitlists.get(showtimeId);
+        if (waitlist != null) {
+            waitlist.remove(entryId);
+        }
+    }
+
+    /**
+     * Place in line counting from 1, or empty if the entry is not waiting on this node.
+     */
+    public Optional<Integer> position(Long showtimeId, Long entryId) {
+        NavigableMap<Long, WaitingCustomer> waitlist = waitlists.get(showtimeId);
+        if (waitlist == null || !waitlist.containsKey(entryId)) {
+            return Optional.empty();
+        }
+        return Optional.of(waitlist.headMap(entryId, false).size() + 1);
+    }
+
+    public int waitingCount(Long showtimeId) {
+        NavigableMap<Long, WaitingCustomer> waitlist = waitlists.get(showtimeId);
+        return waitlist != null ? waitlist.size() : 0;
+    }
+
+    /**
+     * Queues freed seats for the next dispatch, once the current transaction commits.
+     */
+    public void seatsReleased(Long showtimeId, Collection<Integer> seatNumbers) {
+        NavigableMap<Long, WaitingCustomer> waitlist = waitlists.get(showtimeId);
+        if (waitlist == null || waitlist.isEmpty()) {
+            return;
+        }
+
+        List<Integer> released = List.copyOf(seatNumbers);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queueRelease(showtimeId, released);
+                }
+            });
+        } else {
+            queueRelease(showtimeId, released);
+        }
+    }
+
+    private void queueRelease(Long showtimeId, List<Integer> seatNumbers) {
+        // Merged inside compute so that seats queued while a dispatch takes the set are never lost
+        releasedSeats.compute(showtimeId, (id, queued) -> {
+            Set<Integer> merged = queued != null ? queued : new HashSet<>();
+            merged.addAll(seatNumbers);
+            return merged;
+        });
+    }
+
+    void dispatch() {
+        for (Long showtimeId : List.copyOf(releasedSeats.keySet())) {
+            Set<Integer> queued = releasedSeats.remove(showtimeId);
+            NavigableMap<Long, WaitingCustomer> waitlist = waitlists.get(showtimeId);
+            if (queued == null || waitlist == null) {
+                continue;
+            }
+
+            TreeSet<Integer> seats = new TreeSet<>(queued);
+            offerSeats(showtimeId, seats, waitlist);
+            removeTakenSeats(showtimeId, seats);
+            if (!seats.isEmpty() && !waitlist.isEmpty()) {
+                queueRelease(showtimeId, List.copyOf(seats));
+            }
+        }
+    }
+
+    // Walks the line in join order and offers each customer whose party fits into the seats that are still free
+    private void offerSeats(Long showtimeId, TreeSet<Integer> seats, NavigableMap<Long, WaitingCustomer> waitlist) {
+        for (WaitingCustomer customer : waitlist.values()) {
+            removeTakenSeats(showtimeId, seats);
+            if (seats.isEmpty()) {
+                return;
+            }
+            if (customer.seatCount() > seats.size()) {
+                continue;
+            }
+
+            List<Integer> offered = new ArrayList<>(seats).subList(0, customer.seatCount());
+            try {
+                // The hold and the offer commit together, so a failed offer leaves no hold and keeps the customer waiting
+                boolean accepted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    List<BookingResponse> hold = bookingService.getObject().holdSeats(customer.username(),
+                            new BookingRequest(showtimeId, offered.stream().map(SeatRequest::new).toList()));
+                    if (waitlistEntryRepository.markOffered(customer.entryId(), hold.get(0).getOrderReference(),
+                            LocalDateTime.now()) == 0) {
+                        // The customer left in the meantime, so the seats go to the next in line instead
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    return true;
+                }));
+                waitlist.remove(customer.entryId());
+                if (accepted) {
+                    offered.forEach(seats::remove);
+                }
+            } catch (ConflictException e) {
+                // Someone else booked a seat first; the next pass drops taken seats
+                log.debug("Could not offer seats {} of showtime {} to waitlist entry {}: {}",
+                        offered, showtimeId, customer.entryId(), e.getMessage());
+            } catch (BadRequestException e) {
+                // The showtime can no longer be booked, so its seats are not worth keeping
+                log.debug("Dropping seats {} of showtime {}: {}", seats, showtimeId, e.getMessage());
+                seats.clear();
+                return;
+            } catch (RuntimeException e) {
+                // Rolled back as a whole; the customer keeps waiting and the seats stay queued
+                log.warn("Could not offer seats {} of showtime {} to waitlist entry {}",
+                        offered, showtimeId, customer.entryId(), e);
+            }
+        }
+    }
+
+    private void removeTakenSeats(Long showtimeId, Set<Integer> seats) {
+        Optional<SeatInventory> inventory = seatInventoryManager.findLoadedInventory(showtimeId);
+        inventory.ifPresent(loaded -> seats.removeIf(loaded::isBooked));
+    }
+
+    private void tick() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel the scheduled task
+            log.error("Waitlist dispatch failed", e);
+        }
+    }
+}
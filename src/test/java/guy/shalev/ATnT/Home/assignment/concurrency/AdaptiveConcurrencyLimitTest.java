@@ -0,0 +1,103 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long TARGET = 250 * MS;
+
+    @Test
+    void tryAcquire_RefusesBeyondLimitUntilReleased() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5, 0);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(MS, 2 * MS, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void release_FastRequestsAtTheLimitGrowIt() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET, 0.5, 0);
+
+        // Act
+        for (int round = 0; round < 10; round++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(MS, 2 * MS, false);
+            limit.release(MS, 2 * MS, false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 2);
+        assertTrue(limit.getLimit() <= 10);
+    }
+
+    @Test
+    void release_UnusedHeadroomDoesNotGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, TARGET, 0.5, 0);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(MS, 2 * MS, false);
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void release_SlowRequestsCutLimitOncePerRoundTrip() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, TARGET, 0.5, 0);
+        for (int i = 0; i < 3; i++) {
+            limit.tryAcquire();
+        }
+
+        // Act: three requests that overlapped during the same slowdown
+        limit.release(MS, 1_000 * MS, false);
+        limit.release(2 * MS, 1_001 * MS, false);
+        limit.release(3 * MS, 1_002 * MS, false);
+        int afterSlowdown = limit.getLimit();
+
+        limit.tryAcquire();
+        limit.release(1_100 * MS, 2_000 * MS, false);
+
+        // Assert
+        assertEquals(5, afterSlowdown);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void release_FailuresShrinkLimitDownToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 3, 100, TARGET, 0.5, 0);
+
+        // Act
+        for (long start = 10; start < 100; start += 10) {
+            limit.tryAcquire();
+            limit.release(start * MS, (start + 1) * MS, true);
+        }
+
+        // Assert
+        assertEquals(3, limit.getLimit());
+    }
+
+    @Test
+    void constructor_RejectsInconsistentSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(0, 0, 10, TARGET, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(20, 1, 10, TARGET, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 1, 10, 0, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 1, 10, TARGET, 1.0, 0));
+    }
+}
@@ -0,0 +1,98 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new ConflictRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMs", 2L);
+    }
+
+    @Test
+    void retryOnConflict_SucceedsAfterConflict() throws Throwable {
+        // Arrange
+        stubSignature();
+        when(joinPoint.proceed())
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn("booked");
+
+        // Act
+        Object result = aspect.retryOnConflict(joinPoint);
+
+        // Assert
+        assertEquals("booked", result);
+        verify(joinPoint, times(2)).proceed();
+        assertEquals(1.0, meterRegistry.counter("app.retry.attempts",
+                "operation", "BookingService.createBooking(..)").count());
+    }
+
+    @Test
+    void retryOnConflict_ExhaustedAttempts() throws Throwable {
+        // Arrange
+        stubSignature();
+        when(joinPoint.proceed()).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> aspect.retryOnConflict(joinPoint));
+
+        assertEquals(ErrorCode.CONCURRENT_MODIFICATION, exception.getErrorCode());
+        verify(joinPoint, times(3)).proceed();
+        assertEquals(1.0, meterRegistry.counter("app.retry.exhausted",
+                "operation", "BookingService.createBooking(..)").count());
+    }
+
+    @Test
+    void retryOnConflict_BusinessExceptionNotRetried() throws Throwable {
+        // Arrange
+        stubSignature();
+        when(joinPoint.proceed()).thenThrow(new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "taken"));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> aspect.retryOnConflict(joinPoint));
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    private void stubSignature() {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.toShortString()).thenReturn("BookingService.createBooking(..)");
+    }
+
+    @Test
+    void backoffMillis_StaysWithinCap() {
+        // Act & Assert
+        for (int attempt = 1; attempt <= 30; attempt++) {
+            long backoff = aspect.backoffMillis(attempt);
+            assertTrue(backoff >= 0 && backoff <= 2, "Backoff out of range: " + backoff);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    // 10 ms ticks, 4 slots, 2 levels: level 0 covers 40 ms, level 1 covers 160 ms
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 2, 0);
+
+    @Test
+    void advance_ExpiresOnlyDueKeys() {
+        // Arrange
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+
+        // Act
+        List<String> early = wheel.advance(20);
+        List<String> due = wheel.advance(30);
+
+        // Assert
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("a", "b"), due);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesFromHigherLevels() {
+        // Arrange
+        wheel.schedule("level1", 130);
+        wheel.schedule("overflow", 1_000);
+
+        // Act
+        List<String> beforeLevel1 = wheel.advance(120);
+        List<String> level1 = wheel.advance(130);
+        List<String> beforeOverflow = wheel.advance(990);
+        List<String> overflow = wheel.advance(1_000);
+
+        // Assert
+        assertTrue(beforeLevel1.isEmpty());
+        assertEquals(List.of("level1"), level1);
+        assertTrue(beforeOverflow.isEmpty());
+        assertEquals(List.of("overflow"), overflow);
+    }
+
+    @Test
+    void cancel_SkipsCancelledKeys() {
+        // Arrange
+        wheel.schedule("kept", 50);
+        wheel.schedule("cancelled", 50);
+
+        // Act
+        boolean cancelled = wheel.cancel("cancelled");
+        List<String> due = wheel.advance(50);
+
+        // Assert
+        assertTrue(cancelled);
+        assertEquals(List.of("kept"), due);
+    }
+
+    @Test
+    void schedule_ReplacesEarlierDeadline() {
+        // Arrange
+        wheel.schedule("key", 20);
+        wheel.schedule("key", 80);
+
+        // Act
+        List<String> early = wheel.advance(40);
+        List<String> late = wheel.advance(80);
+
+        // Assert
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("key"), late);
+    }
+
+    @Test
+    void advance_ExpiresEveryKeyExactlyOnce() {
+        // Arrange
+        List<String> keys = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            keys.add("hold-" + i);
+            wheel.schedule("hold-" + i, i * 7L);
+        }
+
+        // Act
+        List<String> expired = new ArrayList<>();
+        for (long now = 0; now <= 3_600; now += 30) {
+            expired.addAll(wheel.advance(now));
+        }
+
+        // Assert
+        assertEquals(keys.size(), expired.size());
+        assertTrue(expired.containsAll(keys));
+    }
+}
@@ -0,0 +1,118 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShowtimeLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShowtimeLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new ShowtimeLockManager(meterRegistry, 16, 50, 1000);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    @Test
+    void lockUntilTransactionEnds_ReleasedOnCompletion() throws Exception {
+        // Arrange
+        lockManager.lockUntilTransactionEnds(List.of(1L));
+
+        // Act
+        boolean blockedWhileHeld = !lockFromOtherThread(1L);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        boolean acquiredAfterRelease = lockFromOtherThread(1L);
+
+        // Assert
+        assertTrue(blockedWhileHeld);
+        assertTrue(acquiredAfterRelease);
+        assertEquals(3, meterRegistry.timer("app.lock.wait").count());
+    }
+
+    @Test
+    void lockUntilTransactionEnds_TimesOutOnBusyShowtime() throws Exception {
+        // Arrange
+        lockManager.lockUntilTransactionEnds(List.of(7L));
+
+        // Act
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            try {
+                CompletableFuture.runAsync(() -> {
+                    TransactionSynchronizationManager.initSynchronization();
+                    try {
+                        lockManager.lockUntilTransactionEnds(List.of(7L));
+                    } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                    }
+                }).get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        });
+
+        // Assert
+        assertEquals(ErrorCode.LOCK_TIMEOUT, exception.getErrorCode());
+    }
+
+    @Test
+    void lockUntilTransactionEnds_RequiresTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> lockManager.lockUntilTransactionEnds(List.of(1L)));
+    }
+
+    @Test
+    void stripeIndex_StableAndInRange() {
+        // Act & Assert
+        for (long id = 1; id <= 1000; id++) {
+            int index = lockManager.stripeIndex(id);
+            assertTrue(index >= 0 && index < 16);
+            assertEquals(index, lockManager.stripeIndex(id));
+        }
+    }
+
+    private boolean lockFromOtherThread(Long showtimeId) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.lockUntilTransactionEnds(List.of(showtimeId));
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                return true;
+            } catch (ConflictException e) {
+                return false;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }).get();
+    }
+
+    private void completeTransaction(int status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(sync -> sync.afterCompletion(status));
+        }
+    }
+}
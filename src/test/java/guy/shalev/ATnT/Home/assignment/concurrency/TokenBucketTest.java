@@ -0,0 +1,83 @@
+package guy.shalev.ATnT.Home.assignment.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void tryAcquire_AllowsBurstThenRefillsAtRate() {
+        // Arrange: 10 per second (one every 100 ms), burst of 3
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        // Act & Assert
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(100 * MS, bucket.tryAcquire(0));
+        assertEquals(50 * MS, bucket.tryAcquire(50 * MS));
+        assertEquals(0, bucket.tryAcquire(100 * MS));
+        assertTrue(bucket.tryAcquire(100 * MS) > 0);
+    }
+
+    @Test
+    void tryAcquire_IdleBucketNeverBanksMoreThanBurst() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        // Act
+        int allowed = 0;
+        for (int i = 0; i < 5; i++) {
+            if (bucket.tryAcquire(60_000 * MS) == 0) {
+                allowed++;
+            }
+        }
+
+        // Assert
+        assertEquals(2, allowed);
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersNeverExceedBurst() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 50, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (bucket.tryAcquire(0) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    void constructor_RejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
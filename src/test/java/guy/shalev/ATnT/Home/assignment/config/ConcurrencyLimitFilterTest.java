@@ -0,0 +1,79 @@
+package guy.shalev.ATnT.Home.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()),
+                true, List.of("/api/bookings/**", "/api/showtimes/**"), 1, 1, 10, 250, 0.9);
+    }
+
+    // Sends the second request while the first still holds its permit
+    private MockHttpServletResponse sendDuring(MockHttpServletRequest first, MockHttpServletRequest second)
+            throws Exception {
+        MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+        FilterChain whileBusy = (request, response) ->
+                filter.doFilter(second, secondResponse, new MockFilterChain());
+        filter.doFilter(first, new MockHttpServletResponse(), whileBusy);
+        return secondResponse;
+    }
+
+    @Test
+    void doFilter_ShedsWritesBeyondLimitWithServiceUnavailable() throws Exception {
+        // Act
+        MockHttpServletResponse response = sendDuring(
+                new MockHttpServletRequest("POST", "/api/bookings"),
+                new MockHttpServletRequest("PUT", "/api/showtimes/1"));
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Server is busy"));
+        assertEquals(1.0, meterRegistry.get("app.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    void doFilter_ReadsAreNeverLimited() throws Exception {
+        // Act
+        MockHttpServletResponse response = sendDuring(
+                new MockHttpServletRequest("POST", "/api/bookings"),
+                new MockHttpServletRequest("GET", "/api/showtimes/1"));
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ReleasesPermitAndPublishesLimit() throws Exception {
+        // Arrange
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, meterRegistry.get("app.concurrency.in-flight").gauge().value());
+        assertTrue(meterRegistry.get("app.concurrency.limit").gauge().value() >= 1.0);
+    }
+}
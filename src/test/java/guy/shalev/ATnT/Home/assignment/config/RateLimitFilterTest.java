@@ -0,0 +1,239 @@
+package guy.shalev.ATnT.Home.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule bookings = new RateLimitProperties.Rule();
+        bookings.setName("bookings");
+        bookings.setPath("/api/bookings/**");
+        bookings.setRequestsPerSecond(1);
+        bookings.setBurst(2);
+
+        RateLimitProperties.Rule search = new RateLimitProperties.Rule();
+        search.setName("movie-search");
+        search.setPath("/api/movies/search");
+        search.setMethods(List.of("get"));
+        search.setRequestsPerSecond(1);
+        search.setBurst(1);
+
+        RateLimitProperties.Rule bookingsByAddress = new RateLimitProperties.Rule();
+        bookingsByAddress.setName("bookings");
+        bookingsByAddress.setPath("/api/bookings/**");
+        bookingsByAddress.setRequestsPerSecond(1);
+        bookingsByAddress.setBurst(5);
+
+        properties = new RateLimitProperties();
+        properties.setRules(List.of(bookings, search));
+        properties.setAddressRules(List.of(bookingsByAddress, search));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private RateLimitFilter filter() {
+        return new RateLimitFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private RateLimitFilter userFilter() {
+        return RateLimitFilter.forAuthenticatedUsers(properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String username) {
+        return request(method, path, username, "secret");
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String username, String password) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (username != null) {
+            String credentials = username + ":" + password;
+            request.addHeader("Authorization",
+                    "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest from(String address, MockHttpServletRequest request) {
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER")));
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void doFilter_RejectsUserOverBurstWithRetryAfter() throws Exception {
+        // Arrange
+        RateLimitFilter filter = userFilter();
+        authenticateAs("scalper");
+
+        // Act
+        MockHttpServletResponse first = send(filter, request("POST", "/api/bookings", "scalper"));
+        MockHttpServletResponse second = send(filter, request("POST", "/api/bookings", "scalper"));
+        MockHttpServletResponse third = send(filter, request("POST", "/api/bookings", "scalper"));
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("1", third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("Too many requests"));
+    }
+
+    @Test
+    void doFilter_LimitsEachAuthenticatedUserSeparately() throws Exception {
+        // Arrange
+        RateLimitFilter filter = userFilter();
+        authenticateAs("scalper");
+        send(filter, request("POST", "/api/bookings", "scalper"));
+        send(filter, request("POST", "/api/bookings", "scalper"));
+        MockHttpServletResponse scalper = send(filter, request("POST", "/api/bookings", "scalper"));
+
+        // Act
+        authenticateAs("customer");
+        MockHttpServletResponse customer = send(filter, request("POST", "/api/bookings", "customer"));
+
+        // Assert
+        assertEquals(429, scalper.getStatus());
+        assertEquals(200, customer.getStatus());
+    }
+
+    @Test
+    void doFilter_RotatingMadeUpUsernames_StillLimitedByAddress() throws Exception {
+        // Arrange
+        RateLimitFilter filter = filter();
+        for (int i = 0; i < 5; i++) {
+            send(filter, from("10.0.0.66", request("POST", "/api/bookings", "fake-" + i)));
+        }
+
+        // Act
+        MockHttpServletResponse response = send(filter, from("10.0.0.66", request("POST", "/api/bookings", "fake-5")));
+
+        // Assert
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void doFilter_WrongPasswordFlood_DoesNotSpendTheRealUsersBudget() throws Exception {
+        // Arrange
+        RateLimitFilter addressFilter = filter();
+        RateLimitFilter userFilter = userFilter();
+        MockHttpServletResponse lastGuess = null;
+        for (int i = 0; i < 6; i++) {
+            // Requests that fail authentication never reach the user stage with a principal
+            MockHttpServletRequest guess = from("10.0.0.66", request("POST", "/api/bookings", "customer", "guess-" + i));
+            lastGuess = send(addressFilter, guess);
+            send(userFilter, guess);
+        }
+
+        // Act
+        MockHttpServletRequest own = from("10.0.0.7", request("POST", "/api/bookings", "customer"));
+        MockHttpServletResponse passedAddress = send(addressFilter, own);
+        authenticateAs("customer");
+        MockHttpServletResponse passedUser = send(userFilter, own);
+
+        // Assert
+        assertEquals(429, lastGuess.getStatus());
+        assertEquals(200, passedAddress.getStatus());
+        assertEquals(200, passedUser.getStatus());
+    }
+
+    @Test
+    void doFilter_UsersBehindOneAddress_EachGetTheirFullBudget() throws Exception {
+        // Arrange
+        RateLimitFilter addressFilter = filter();
+        RateLimitFilter userFilter = userFilter();
+        int[] accepted = new int[2];
+        List<String> users = List.of("alice", "bob");
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            for (int u = 0; u < users.size(); u++) {
+                MockHttpServletRequest request = from("203.0.113.9", request("POST", "/api/bookings", users.get(u)));
+                authenticateAs(users.get(u));
+                if (send(addressFilter, request).getStatus() == 200 && send(userFilter, request).getStatus() == 200) {
+                    accepted[u]++;
+                }
+            }
+        }
+        MockHttpServletRequest overBudget = from("203.0.113.9", request("POST", "/api/bookings", "alice"));
+        authenticateAs("alice");
+        MockHttpServletResponse rejected = send(userFilter, overBudget);
+
+        // Assert
+        assertEquals(2, accepted[0]);
+        assertEquals(2, accepted[1]);
+        assertEquals(429, rejected.getStatus());
+    }
+
+    @Test
+    void doFilter_LimitsAnonymousCallersByAddress() throws Exception {
+        // Arrange
+        RateLimitFilter filter = filter();
+        MockHttpServletRequest fromOtherAddress = request("GET", "/api/movies/search", null);
+        fromOtherAddress.setRemoteAddr("10.0.0.2");
+        send(filter, request("GET", "/api/movies/search", null));
+
+        // Act
+        MockHttpServletResponse sameAddress = send(filter, request("GET", "/api/movies/search", null));
+        MockHttpServletResponse otherAddress = send(filter, fromOtherAddress);
+
+        // Assert
+        assertEquals(429, sameAddress.getStatus());
+        assertEquals(200, otherAddress.getStatus());
+    }
+
+    @Test
+    void doFilter_IgnoresUnlistedEndpointsAndMethods() throws Exception {
+        // Arrange
+        RateLimitFilter filter = filter();
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send(filter, request("GET", "/api/movies", null)).getStatus());
+            assertEquals(200, send(filter, request("POST", "/api/movies/search", "admin")).getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_DisabledLetsEverythingThrough() throws Exception {
+        // Arrange
+        properties.setEnabled(false);
+        RateLimitFilter filter = filter();
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send(filter, request("POST", "/api/bookings", "scalper")).getStatus());
+        }
+    }
+}
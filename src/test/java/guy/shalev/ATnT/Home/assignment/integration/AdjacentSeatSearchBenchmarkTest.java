@@ -0,0 +1,207 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAllocationResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
+import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRowRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opt-in latency benchmark for the cross-showtime adjacent seat search over hundreds of nearly sold-out
+ * showtimes of one movie: {@code mvn test -Dtest=AdjacentSeatSearchBenchmarkTest -Dload-test=true}.
+ * Every showtime passes the available-seats filter, but only every fifth one still has two adjacent free seats.
+ * The cold run evicts the seat inventories before each search, so their bookings are loaded again.
+ * Reports latency, JDBC statements and showtimes found per search.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:adjacent_search_benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.rate-limit.enabled=false",
+        "app.concurrency-limit.enabled=false"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class AdjacentSeatSearchBenchmarkTest {
+
+    private static final int SHOWTIMES = 500;
+    private static final int ROWS = 10;
+    private static final int SEATS_PER_ROW = 10;
+    private static final int MAX_SEATS = ROWS * SEATS_PER_ROW;
+    private static final int QUANTITY = 2;
+    private static final Set<Integer> SCATTERED_FREE_SEATS = Set.of(5, 17, 29, 41, 53);
+    private static final Set<Integer> BLOCK_FREE_SEATS = Set.of(5, 64, 65, 66, 67);
+    private static final int WARMUP_SEARCHES = 20;
+    private static final int MEASURED_SEARCHES = 100;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private TheaterRowRepository theaterRowRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void searchAcrossNearlySoldOutShowtimes() {
+        // Given
+        Long movieId = seed();
+        List<Long> showtimeIds = showtimeRepository.findAll().stream().map(Showtime::getId).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        Measurement cold = measure(statistics, movieId, () -> showtimeIds.forEach(seatInventoryManager::evict));
+        Measurement warm = measure(statistics, movieId, () -> { });
+
+        // Then
+        System.out.printf("%-22s %10s %12s %8s%n", SHOWTIMES + " showtimes", "ms/search", "statements", "found");
+        cold.print("cold seat inventories");
+        warm.print("warm seat inventories");
+        assertEquals(SHOWTIMES / 5, cold.found());
+        assertEquals(SHOWTIMES / 5, warm.found());
+        assertTrue(cold.statementsPerSearch() <= 5);
+    }
+
+    private Measurement measure(Statistics statistics, Long movieId, Runnable beforeSearch) {
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            beforeSearch.run();
+            showtimeService.findShowtimesWithAdjacentSeats(movieId, QUANTITY, null, null);
+        }
+        statistics.clear();
+        long elapsedNanos = 0;
+        int found = 0;
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            beforeSearch.run();
+            long start = System.nanoTime();
+            List<SeatAllocationResponse> results =
+                    showtimeService.findShowtimesWithAdjacentSeats(movieId, QUANTITY, null, null);
+            elapsedNanos += System.nanoTime() - start;
+            found = results.size();
+        }
+        return new Measurement(elapsedNanos / 1_000_000.0 / MEASURED_SEARCHES,
+                (double) statistics.getPrepareStatementCount() / MEASURED_SEARCHES, found);
+    }
+
+    private Long seed() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Movie movie = new Movie();
+            movie.setTitle("Sold Out Premiere");
+            movie.setGenre("Drama");
+            movie.setDuration(120);
+            movie.setRating("PG");
+            movie.setReleaseYear(2024);
+            movie = movieRepository.save(movie);
+
+            Theater theater = new Theater();
+            theater.setName("Premiere Hall");
+            theater.setCapacity(MAX_SEATS);
+            theater = theaterRepository.save(theater);
+
+            List<TheaterRow> rows = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                rows.add(TheaterRow.builder()
+                        .theater(theater)
+                        .section("Main")
+                        .rowLabel(String.valueOf((char) ('A' + i)))
+                        .firstSeatNumber(i * SEATS_PER_ROW + 1)
+                        .seatCount(SEATS_PER_ROW)
+                        .preferenceRank(i + 1)
+                        .build());
+            }
+            theaterRowRepository.saveAll(rows);
+
+            User user = userRepository.save(User.builder()
+                    .username("premiere-crowd")
+                    .email("premiere-crowd@test.com")
+                    .role(UserRole.CUSTOMER)
+                    .build());
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+            for (int i = 0; i < SHOWTIMES; i++) {
+                Set<Integer> freeSeats = i % 5 == 0 ? BLOCK_FREE_SEATS : SCATTERED_FREE_SEATS;
+                Showtime showtime = showtimeRepository.save(Showtime.builder()
+                        .movie(movie)
+                        .theater(theater)
+                        .startTime(start.plusHours(3L * i))
+                        .endTime(start.plusHours(3L * i + 2))
+                        .maxSeats(MAX_SEATS)
+                        .availableSeats(freeSeats.size())
+                        .build());
+
+                List<Booking> bookings = new ArrayList<>();
+                for (int seat = 1; seat <= MAX_SEATS; seat++) {
+                    if (!freeSeats.contains(seat)) {
+                        bookings.add(Booking.builder()
+                                .user(user)
+                                .showtime(showtime)
+                                .seatNumber(seat)
+                                .seatClaim(seat)
+                                .price(BigDecimal.TEN)
+                                .bookingTime(start)
+                                .status(BookingStatus.CONFIRMED)
+                                .build());
+                    }
+                }
+                bookingRepository.saveAll(bookings);
+            }
+            return movie.getId();
+        });
+    }
+
+    private record Measurement(double millisPerSearch, double statementsPerSearch, int found) {
+        void print(String label) {
+            System.out.printf("%-22s %10.2f %12.1f %8d%n", label, millisPerSearch, statementsPerSearch, found);
+        }
+    }
+}
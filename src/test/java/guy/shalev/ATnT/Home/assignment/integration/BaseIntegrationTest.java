@@ -1,14 +1,31 @@
 package guy.shalev.ATnT.Home.assignment.integration;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @SpringBootTest
 public abstract class BaseIntegrationTest {
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Tests reset tables through repositories, which the catalog cache cannot see
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(Cache::clear);
+    }
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         // Generate unique database name for each test class
@@ -29,5 +46,9 @@ public abstract class BaseIntegrationTest {
 
         // Enable H2 Console
         registry.add("spring.h2.console.enabled", () -> "true");
+
+        // Tests fire requests far faster than any client is allowed to
+        registry.add("app.rate-limit.enabled", () -> "false");
+        registry.add("app.concurrency-limit.enabled", () -> "false");
     }
 }
\ No newline at end of file
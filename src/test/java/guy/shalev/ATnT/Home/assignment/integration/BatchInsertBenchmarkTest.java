@@ -0,0 +1,188 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opt-in benchmark for batched inserts with pooled sequence ids, on a large group booking and on bulk loading
+ * movies: {@code mvn test -Dtest=BatchInsertBenchmarkTest -Dload-test=true}.
+ * The bulk load also runs with a JDBC batch size of 1, which issues one INSERT per row like identity ids did.
+ * Reports latency and JDBC statements per operation.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch_benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.rate-limit.enabled=false",
+        "app.concurrency-limit.enabled=false"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class BatchInsertBenchmarkTest {
+
+    private static final int GROUP_SIZE = 500;
+    private static final int WARMUP_BOOKINGS = 5;
+    private static final int MEASURED_BOOKINGS = 20;
+    private static final int BULK_ROWS = 10_000;
+    private static final String USERNAME = "tour-operator";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void groupBookingAndBulkLoad() {
+        // Given
+        List<Long> showtimeIds = seedShowtimes(WARMUP_BOOKINGS + MEASURED_BOOKINGS);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        Measurement groupBooking = measureGroupBookings(statistics, showtimeIds);
+        loadMovies(statistics, "Warmup", null);
+        Measurement unbatchedLoad = loadMovies(statistics, "Unbatched", 1);
+        Measurement batchedLoad = loadMovies(statistics, "Batched", null);
+
+        // Then
+        System.out.printf("%-30s %12s %14s%n", "operation", "ms/op", "statements/op");
+        groupBooking.print("group booking of " + GROUP_SIZE + " seats");
+        unbatchedLoad.print("load " + BULK_ROWS + " movies, batch 1");
+        batchedLoad.print("load " + BULK_ROWS + " movies, batched");
+        assertEquals(0, showtimeRepository.findById(showtimeIds.get(showtimeIds.size() - 1))
+                .orElseThrow().getAvailableSeats());
+        assertTrue(groupBooking.statementsPerOperation() < GROUP_SIZE / 10.0);
+        assertTrue(batchedLoad.statementsPerOperation() < unbatchedLoad.statementsPerOperation() / 10);
+    }
+
+    private Measurement measureGroupBookings(Statistics statistics, List<Long> showtimeIds) {
+        for (int i = 0; i < WARMUP_BOOKINGS; i++) {
+            bookingService.createBooking(USERNAME, groupRequest(showtimeIds.get(i)));
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = WARMUP_BOOKINGS; i < showtimeIds.size(); i++) {
+            assertEquals(GROUP_SIZE, bookingService.createBooking(USERNAME, groupRequest(showtimeIds.get(i))).size());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Measurement(elapsedNanos / 1_000_000.0 / MEASURED_BOOKINGS,
+                (double) statistics.getPrepareStatementCount() / MEASURED_BOOKINGS);
+    }
+
+    private static BookingRequest groupRequest(Long showtimeId) {
+        return new BookingRequest(showtimeId, IntStream.rangeClosed(1, GROUP_SIZE).mapToObj(SeatRequest::new).toList());
+    }
+
+    // A null batch size keeps the configured hibernate.jdbc.batch_size
+    private Measurement loadMovies(Statistics statistics, String label, Integer jdbcBatchSize) {
+        statistics.clear();
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (jdbcBatchSize != null) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            }
+            List<Movie> movies = new ArrayList<>(BULK_ROWS);
+            for (int i = 0; i < BULK_ROWS; i++) {
+                movies.add(movie(label + " Movie " + i));
+            }
+            movieRepository.saveAll(movies);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        long elapsedNanos = System.nanoTime() - start;
+        return new Measurement(elapsedNanos / 1_000_000.0, statistics.getPrepareStatementCount());
+    }
+
+    private List<Long> seedShowtimes(int count) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Movie movie = movieRepository.save(movie("Group Booking Movie"));
+
+            Theater theater = new Theater();
+            theater.setName("Group Theater");
+            theater.setCapacity(GROUP_SIZE);
+            theater = theaterRepository.save(theater);
+
+            userRepository.save(User.builder()
+                    .username(USERNAME)
+                    .email(USERNAME + "@test.com")
+                    .role(UserRole.CUSTOMER)
+                    .build());
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+            List<Long> showtimeIds = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                showtimeIds.add(showtimeRepository.save(Showtime.builder()
+                        .movie(movie)
+                        .theater(theater)
+                        .startTime(start.plusHours(3L * i))
+                        .endTime(start.plusHours(3L * i + 2))
+                        .maxSeats(GROUP_SIZE)
+                        .availableSeats(GROUP_SIZE)
+                        .build()).getId());
+            }
+            return showtimeIds;
+        });
+    }
+
+    private static Movie movie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setGenre("Drama");
+        movie.setDuration(120);
+        movie.setRating("PG");
+        movie.setReleaseYear(2024);
+        return movie;
+    }
+
+    private record Measurement(double millisPerOperation, double statementsPerOperation) {
+        void print(String label) {
+            System.out.printf("%-30s %12.1f %14.1f%n", label, millisPerOperation, statementsPerOperation);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingPipeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Opt-in contention benchmark on one hot showtime: every client books its own seats back to back, either straight
+ * through {@code createBooking} or through the single-writer {@link BookingPipeline}:
+ * {@code mvn test -Dtest=BookingPipelineLoadTest -Dload-test=true}.
+ * Reports sustained bookings per second, latency percentiles and failed bookings.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pipeline_load;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.rate-limit.enabled=false",
+        "app.concurrency-limit.enabled=false"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class BookingPipelineLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int BOOKINGS_PER_CLIENT = 50;
+    private static final int MAX_SEATS = CLIENTS * BOOKINGS_PER_CLIENT;
+    private static final String USERNAME = "opening-night";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingPipeline bookingPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void pipelineVersusDirectBookings() throws Exception {
+        // Given
+        Long directShowtime = seed("Direct");
+        Long pipelineShowtime = seed("Pipeline");
+
+        // When
+        LoadResult direct = runLoad(directShowtime, bookingService::createBooking);
+        LoadResult pipeline = runLoad(pipelineShowtime, bookingPipeline::book);
+
+        // Then
+        System.out.printf("%-9s %12s %10s %10s %9s%n", "engine", "bookings/s", "p50 ms", "p99 ms", "failures");
+        direct.print("direct");
+        pipeline.print("pipeline");
+        assertEquals(MAX_SEATS - direct.booked(),
+                showtimeRepository.findById(directShowtime).orElseThrow().getAvailableSeats());
+        assertEquals(MAX_SEATS - pipeline.booked(),
+                showtimeRepository.findById(pipelineShowtime).orElseThrow().getAvailableSeats());
+    }
+
+    private LoadResult runLoad(Long showtimeId, BiFunction<String, BookingRequest, ?> book) throws Exception {
+        long[] latencies = new long[MAX_SEATS];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int client = 0; client < CLIENTS; client++) {
+            int firstSeat = client * BOOKINGS_PER_CLIENT + 1;
+            clients.submit(() -> {
+                start.await();
+                for (int seat = firstSeat; seat < firstSeat + BOOKINGS_PER_CLIENT; seat++) {
+                    long sent = System.nanoTime();
+                    try {
+                        book.apply(USERNAME, new BookingRequest(showtimeId, List.of(new SeatRequest(seat))));
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        return new LoadResult(
+                sorted.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                percentileMs(sorted, 0.50),
+                percentileMs(sorted, 0.99),
+                sorted.length,
+                failures.get());
+    }
+
+    private Long seed(String label) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Movie movie = new Movie();
+            movie.setTitle(label + " Blockbuster");
+            movie.setGenre("Action");
+            movie.setDuration(150);
+            movie.setRating("PG-13");
+            movie.setReleaseYear(2024);
+            movie = movieRepository.save(movie);
+
+            Theater theater = new Theater();
+            theater.setName(label + " Arena");
+            theater.setCapacity(MAX_SEATS);
+            theater = theaterRepository.save(theater);
+
+            if (userRepository.findByUsername(USERNAME).isEmpty()) {
+                userRepository.save(User.builder()
+                        .username(USERNAME)
+                        .email(USERNAME + "@test.com")
+                        .role(UserRole.CUSTOMER)
+                        .build());
+            }
+
+            LocalDateTime startTime = LocalDateTime.now().plusDays(1).withNano(0);
+            return showtimeRepository.save(Showtime.builder()
+                    .movie(movie)
+                    .theater(theater)
+                    .startTime(startTime)
+                    .endTime(startTime.plusHours(3))
+                    .maxSeats(MAX_SEATS)
+                    .availableSeats(MAX_SEATS)
+                    .build()).getId();
+        });
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(double bookingsPerSecond, double p50Ms, double p99Ms, int booked, int failures) {
+        void print(String label) {
+            System.out.printf("%-9s %12.0f %10.1f %10.1f %9d%n", label, bookingsPerSecond, p50Ms, p99Ms, failures);
+        }
+    }
+}
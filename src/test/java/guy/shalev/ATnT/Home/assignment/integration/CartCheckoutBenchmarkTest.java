@@ -0,0 +1,169 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.CartRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opt-in benchmark comparing one cart checkout across several showtimes with booking the same seats through
+ * one {@code createBooking} call per showtime: {@code mvn test -Dtest=CartCheckoutBenchmarkTest -Dload-test=true}.
+ * Reports latency, JDBC statements and committed transactions per order.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cart_benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.rate-limit.enabled=false",
+        "app.concurrency-limit.enabled=false"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class CartCheckoutBenchmarkTest {
+
+    private static final int SHOWTIMES_PER_ORDER = 4;
+    private static final int SEATS_PER_SHOWTIME = 2;
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 1_000;
+    private static final int MAX_SEATS = (WARMUP_ORDERS + MEASURED_ORDERS) * SEATS_PER_SHOWTIME;
+    private static final String USERNAME = "double-feature";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cartCheckoutVersusSequentialBookings() {
+        // Given
+        List<Long> sequentialShowtimes = seed("Sequential");
+        List<Long> cartShowtimes = seed("Cart");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        Measurement sequential = measure(statistics, order -> sequentialShowtimes.forEach(showtimeId ->
+                bookingService.createBooking(USERNAME, item(showtimeId, order))));
+        Measurement cart = measure(statistics, order -> bookingService.checkoutCart(USERNAME,
+                new CartRequest(cartShowtimes.stream().map(showtimeId -> item(showtimeId, order)).toList())));
+
+        // Then
+        System.out.printf("%-24s %12s %14s %14s%n", SHOWTIMES_PER_ORDER + " showtimes per order",
+                "us/order", "statements", "transactions");
+        sequential.print("sequential createBooking");
+        cart.print("cart checkout");
+        for (Long showtimeId : cartShowtimes) {
+            assertEquals(0, showtimeRepository.findById(showtimeId).orElseThrow().getAvailableSeats());
+        }
+        assertTrue(cart.transactionsPerOrder() < sequential.transactionsPerOrder());
+    }
+
+    private static BookingRequest item(Long showtimeId, int order) {
+        List<SeatRequest> seats = new ArrayList<>();
+        for (int i = 1; i <= SEATS_PER_SHOWTIME; i++) {
+            seats.add(new SeatRequest(order * SEATS_PER_SHOWTIME + i));
+        }
+        return new BookingRequest(showtimeId, seats);
+    }
+
+    private List<Long> seed(String label) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Movie movie = new Movie();
+            movie.setTitle(label + " Double Feature");
+            movie.setGenre("Drama");
+            movie.setDuration(120);
+            movie.setRating("PG");
+            movie.setReleaseYear(2024);
+            movie = movieRepository.save(movie);
+
+            Theater theater = new Theater();
+            theater.setName(label + " Theater");
+            theater.setCapacity(MAX_SEATS);
+            theater = theaterRepository.save(theater);
+
+            if (userRepository.findByUsername(USERNAME).isEmpty()) {
+                userRepository.save(User.builder()
+                        .username(USERNAME)
+                        .email(USERNAME + "@test.com")
+                        .role(UserRole.CUSTOMER)
+                        .build());
+            }
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+            List<Long> showtimeIds = new ArrayList<>();
+            for (int i = 0; i < SHOWTIMES_PER_ORDER; i++) {
+                showtimeIds.add(showtimeRepository.save(Showtime.builder()
+                        .movie(movie)
+                        .theater(theater)
+                        .startTime(start.plusHours(3L * i))
+                        .endTime(start.plusHours(3L * i + 2))
+                        .maxSeats(MAX_SEATS)
+                        .availableSeats(MAX_SEATS)
+                        .build()).getId());
+            }
+            return showtimeIds;
+        });
+    }
+
+    private static Measurement measure(Statistics statistics, IntConsumer placeOrder) {
+        for (int order = 0; order < WARMUP_ORDERS; order++) {
+            placeOrder.accept(order);
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int order = WARMUP_ORDERS; order < WARMUP_ORDERS + MEASURED_ORDERS; order++) {
+            placeOrder.accept(order);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Measurement(elapsedNanos / 1_000.0 / MEASURED_ORDERS,
+                (double) statistics.getPrepareStatementCount() / MEASURED_ORDERS,
+                (double) statistics.getTransactionCount() / MEASURED_ORDERS);
+    }
+
+    private record Measurement(double microsPerOrder, double statementsPerOrder, double transactionsPerOrder) {
+        void print(String label) {
+            System.out.printf("%-24s %12.1f %14.1f %14.1f%n",
+                    label, microsPerOrder, statementsPerOrder, transactionsPerOrder);
+        }
+    }
+}
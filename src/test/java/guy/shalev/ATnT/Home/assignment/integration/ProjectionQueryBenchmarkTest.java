@@ -0,0 +1,207 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.mapper.BookingMapper;
+import guy.shalev.ATnT.Home.assignment.mapper.ShowtimeMapper;
+import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
+import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Opt-in benchmark comparing the projection queries behind {@code getShowtimesByMovie} and
+ * {@code getUserBookings} with loading managed entities and mapping them, on a few thousand showtimes and
+ * tens of thousands of bookings: {@code mvn test -Dtest=ProjectionQueryBenchmarkTest -Dload-test=true}.
+ * Reports latency and bytes allocated per call for a full page.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection_benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.rate-limit.enabled=false",
+        "app.concurrency-limit.enabled=false"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ProjectionQueryBenchmarkTest {
+
+    private static final int SHOWTIMES = 5_000;
+    private static final int BOOKINGS_PER_SHOWTIME = 5;
+    private static final int PAGE_SIZE = 200;
+    private static final int WARMUP_CALLS = 200;
+    private static final int MEASURED_CALLS = 1_000;
+    private static final String USERNAME = "heavy-booker";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ShowtimeMapper showtimeMapper;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void projectionsVersusEntities() {
+        // Given
+        Long movieId = seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<?>> showtimeEntities = () -> readOnly.execute(status -> showtimeMapper.toResponseList(
+                entityManager.createQuery("SELECT s FROM Showtime s WHERE s.movie.id = :movieId ORDER BY s.id",
+                                Showtime.class)
+                        .setParameter("movieId", movieId)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList()));
+        Supplier<List<?>> showtimeProjections = () ->
+                showtimeService.getShowtimesByMovie(movieId, null, PAGE_SIZE).items();
+        Supplier<List<?>> bookingEntities = () -> readOnly.execute(status -> {
+            User user = userRepository.findByUsername(USERNAME).orElseThrow();
+            return bookingMapper.toResponseList(entityManager
+                    .createQuery("SELECT b FROM Booking b WHERE b.user.id = :userId ORDER BY b.id", Booking.class)
+                    .setParameter("userId", user.getId())
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList());
+        });
+        Supplier<List<?>> bookingProjections = () -> bookingService.getUserBookings(USERNAME, null, PAGE_SIZE).items();
+
+        // When
+        Measurement showtimesBefore = measure(showtimeEntities);
+        Measurement showtimesAfter = measure(showtimeProjections);
+        Measurement bookingsBefore = measure(bookingEntities);
+        Measurement bookingsAfter = measure(bookingProjections);
+
+        // Then
+        System.out.printf("%-30s %12s %14s%n", "page of " + PAGE_SIZE, "us/call", "KiB/call");
+        showtimesBefore.print("getShowtimesByMovie entities");
+        showtimesAfter.print("getShowtimesByMovie projection");
+        bookingsBefore.print("getUserBookings entities");
+        bookingsAfter.print("getUserBookings projection");
+        assertEquals(showtimeEntities.get(), showtimeProjections.get());
+        assertEquals(bookingEntities.get(), bookingProjections.get());
+    }
+
+    private Long seed() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Movie movie = new Movie();
+            movie.setTitle("Benchmark Movie");
+            movie.setGenre("Drama");
+            movie.setDuration(120);
+            movie.setRating("PG");
+            movie.setReleaseYear(2024);
+            movie = movieRepository.save(movie);
+
+            Theater theater = new Theater();
+            theater.setName("Benchmark Theater");
+            theater.setCapacity(100);
+            theater = theaterRepository.save(theater);
+
+            User user = userRepository.save(User.builder()
+                    .username(USERNAME)
+                    .email(USERNAME + "@test.com")
+                    .role(UserRole.CUSTOMER)
+                    .build());
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+            List<Showtime> showtimes = new ArrayList<>();
+            for (int i = 0; i < SHOWTIMES; i++) {
+                showtimes.add(Showtime.builder()
+                        .movie(movie)
+                        .theater(theater)
+                        .startTime(start.plusHours(3L * i))
+                        .endTime(start.plusHours(3L * i + 2))
+                        .maxSeats(100)
+                        .availableSeats(100 - BOOKINGS_PER_SHOWTIME)
+                        .build());
+            }
+            showtimes = showtimeRepository.saveAll(showtimes);
+
+            List<Booking> bookings = new ArrayList<>();
+            for (Showtime showtime : showtimes) {
+                for (int seat = 1; seat <= BOOKINGS_PER_SHOWTIME; seat++) {
+                    bookings.add(Booking.builder()
+                            .user(user)
+                            .showtime(showtime)
+                            .seatNumber(seat)
+                            .seatClaim(seat)
+                            .price(new BigDecimal("10.00"))
+                            .bookingTime(start.minusDays(2))
+                            .status(BookingStatus.CONFIRMED)
+                            .orderReference("order-" + showtime.getId())
+                            .build());
+                }
+            }
+            bookingRepository.saveAll(bookings);
+            return movie.getId();
+        });
+    }
+
+    private static Measurement measure(Supplier<List<?>> call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            assertEquals(PAGE_SIZE, call.get().size());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(elapsedNanos / 1_000.0 / MEASURED_CALLS, allocated / 1024.0 / MEASURED_CALLS);
+    }
+
+    private record Measurement(double microsPerCall, double kibPerCall) {
+        void print(String label) {
+            System.out.printf("%-30s %12.1f %14.1f%n", label, microsPerCall, kibPerCall);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package guy.shalev.ATnT.Home.assignment.integration;
+
+import guy.shalev.ATnT.Home.assignment.ATnTHomeAssignmentApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Opt-in load test comparing platform and virtual request threads with 1,000 concurrent connections, each
+ * issuing catalog reads back to back. Needs a Java 21+ runtime:
+ * {@code mvn test -Dtest=ThreadingLoadTest -Dload-test=true}.
+ * In-memory H2 barely blocks, so the gap is widest against a real database ({@code -Dspring.datasource.url=...}).
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ThreadingLoadTest {
+
+    private static final int CONNECTIONS = 1_000;
+    private static final int REQUESTS_PER_CONNECTION = 20;
+    private static final int WARMUP_CONNECTIONS = 100;
+
+    @Test
+    void virtualThreadsVersusPlatformThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need a Java 21+ runtime");
+
+        // When
+        LoadResult platform = runAgainstApplication(false);
+        LoadResult virtual = runAgainstApplication(true);
+
+        // Then
+        System.out.printf("%-9s %10s %10s %10s %9s%n", "threads", "req/s", "p50 ms", "p99 ms", "failures");
+        platform.print("platform");
+        virtual.print("virtual");
+        assertEquals(0, platform.failures());
+        assertEquals(0, virtual.failures());
+    }
+
+    private LoadResult runAgainstApplication(boolean virtualThreads) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ATnTHomeAssignmentApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (CONNECTIONS * 2),
+                        "server.tomcat.accept-count=" + CONNECTIONS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load_" + UUID.randomUUID().toString().replace("-", "")
+                                + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "app.rate-limit.enabled=false",
+                        "app.concurrency-limit.enabled=false")
+                .run();
+        try {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/movies");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+            runLoad(client, uri, WARMUP_CONNECTIONS);
+            return runLoad(client, uri, CONNECTIONS);
+        } finally {
+            context.close();
+        }
+    }
+
+    private LoadResult runLoad(HttpClient client, URI uri, int connections) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        long[] latencies = new long[connections * REQUESTS_PER_CONNECTION];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            clients[i] = sendSequentially(client, request, REQUESTS_PER_CONNECTION, latencies, recorded, failures);
+        }
+        CompletableFuture.allOf(clients).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        return new LoadResult(
+                sorted.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                percentileMs(sorted, 0.50),
+                percentileMs(sorted, 0.99),
+                failures.get());
+    }
+
+    // One simulated connection: each request is sent only after the previous response arrived
+    private CompletableFuture<Void> sendSequentially(HttpClient client, HttpRequest request, int remaining,
+                                                     long[] latencies, AtomicInteger recorded, AtomicInteger failures) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                    if (error != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored ->
+                        sendSequentially(client, request, remaining - 1, latencies, recorded, failures));
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(double requestsPerSecond, double p50Ms, double p99Ms, int failures) {
+        void print(String label) {
+            System.out.printf("%-9s %10.0f %10.1f %10.1f %9d%n", label, requestsPerSecond, p50Ms, p99Ms, failures);
+        }
+    }
+}
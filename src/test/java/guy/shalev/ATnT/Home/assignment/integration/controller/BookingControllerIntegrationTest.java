@@ -1,8 +1,11 @@
 package guy.shalev.ATnT.Home.assignment.integration.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.integration.BaseIntegrationTest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.*;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
@@ -11,6 +14,7 @@ import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
 import guy.shalev.ATnT.Home.assignment.service.MovieService;
 import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
 import guy.shalev.ATnT.Home.assignment.service.TheaterService;
@@ -24,17 +28,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -59,6 +70,9 @@ class BookingControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BookingService bookingService;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -193,6 +207,51 @@ class BookingControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$[1].seatNumber").value(2));
         }
 
+        @Test
+        @DisplayName("Successfully check out a cart across two showtimes")
+        void checkoutCartAcrossShowtimes() throws Exception {
+            // Given
+            ShowtimeResponse laterShowtime = showtimeService.createShowtime(new ShowtimeRequest(
+                    testMovie.getId(), testTheater.getId(), baseDateTime.plusHours(4), 50));
+            CartRequest request = new CartRequest(List.of(
+                    createValidBookingRequest(),
+                    new BookingRequest(laterShowtime.getId(), List.of(new SeatRequest(1)))));
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/cart")
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+
+            // Then
+            result.andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(3)));
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+            assertEquals(49, showtimeService.getShowtime(laterShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Cart checkout is all or nothing")
+        void checkoutCartRollsBackOnConflict() throws Exception {
+            // Given
+            ShowtimeResponse laterShowtime = showtimeService.createShowtime(new ShowtimeRequest(
+                    testMovie.getId(), testTheater.getId(), baseDateTime.plusHours(4), 50));
+            CartRequest request = new CartRequest(List.of(
+                    createValidBookingRequest(),
+                    new BookingRequest(laterShowtime.getId(), List.of(new SeatRequest(51)))));
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/cart")
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+
+            // Then
+            result.andExpect(status().isBadRequest());
+            assertEquals(50, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+            assertTrue(bookingService.isSeatAvailable(testShowtime.getId(), 1));
+        }
+
         @Test
         @DisplayName("Fail to create booking with duplicate seats")
         void createBookingWithDuplicateSeats() throws Exception {
@@ -263,6 +322,64 @@ class BookingControllerIntegrationTest extends BaseIntegrationTest {
             result.andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.message").value("Invalid seat number 51. Maximum seat number is: 50"));
         }
+
+        @Test
+        @DisplayName("Retry with the same Idempotency-Key returns the original booking")
+        void retryWithIdempotencyKey() throws Exception {
+            // Given
+            String idempotencyKey = UUID.randomUUID().toString();
+            String body = objectMapper.writeValueAsString(createValidBookingRequest());
+            MvcResult first = mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            // When
+            MvcResult retry = mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            // Then
+            BookingResponse[] original = objectMapper.readValue(first.getResponse().getContentAsString(), BookingResponse[].class);
+            BookingResponse[] replayed = objectMapper.readValue(retry.getResponse().getContentAsString(), BookingResponse[].class);
+            assertEquals(original[0].getId(), replayed[0].getId());
+            assertEquals(original[0].getOrderReference(), replayed[0].getOrderReference());
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Fail to reuse an Idempotency-Key for a different booking")
+        void reuseIdempotencyKeyForDifferentRequest() throws Exception {
+            // Given
+            String idempotencyKey = UUID.randomUUID().toString();
+            mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createValidBookingRequest())))
+                    .andExpect(status().isCreated());
+            BookingRequest otherRequest = new BookingRequest(testShowtime.getId(), List.of(new SeatRequest(3)));
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings")
+                    .header("Authorization", customerAuthHeader)
+                    .header("Idempotency-Key", idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(otherRequest)));
+
+            // Then
+            result.andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Idempotency key " + idempotencyKey
+                            + " was already used for a different booking request"));
+            assertTrue(bookingService.isSeatAvailable(testShowtime.getId(), 3));
+        }
     }
 
     @Nested
@@ -342,6 +459,38 @@ class BookingControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$").value(true));
         }
 
+        @Test
+        @DisplayName("Successfully check availability of several seats")
+        void checkSeatAvailabilityBulk() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/bookings/seats-available")
+                    .param("showtimeId", testShowtime.getId().toString())
+                    .param("fromSeat", "1")
+                    .param("toSeat", "3")
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[0].seatNumber").value(1))
+                    .andExpect(jsonPath("$[0].available").value(false))
+                    .andExpect(jsonPath("$[1].available").value(false))
+                    .andExpect(jsonPath("$[2].seatNumber").value(3))
+                    .andExpect(jsonPath("$[2].available").value(true));
+        }
+
+        @Test
+        @DisplayName("Fail to check seats without a seat list or range")
+        void checkSeatAvailabilityBulkWithoutSeats() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/bookings/seats-available")
+                    .param("showtimeId", testShowtime.getId().toString())
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Fail to get non-existent booking")
         void getNonExistentBooking() throws Exception {
@@ -382,4 +531,457 @@ class BookingControllerIntegrationTest extends BaseIntegrationTest {
             result.andExpect(status().isForbidden());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Booking Cancellation Endpoint Tests")
+    class BookingCancellationTests {
+
+        private List<BookingResponse> bookings;
+
+        @BeforeEach
+        void setUp() {
+            bookings = bookingService.createBooking("customer", createValidBookingRequest());
+        }
+
+        @Test
+        @DisplayName("Cancelled seat can be booked again")
+        void cancelBookingFreesSeat() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/{id}/cancel", bookings.get(0).getId())
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CANCELLED"));
+            assertEquals(49, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+            assertTrue(bookingService.isSeatAvailable(testShowtime.getId(), 1));
+
+            mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new BookingRequest(testShowtime.getId(), List.of(new SeatRequest(1))))))
+                    .andExpect(status().isCreated());
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Successfully cancel a whole order")
+        void cancelOrder() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/orders/{orderReference}/cancel",
+                    bookings.get(0).getOrderReference())
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+                    .andExpect(jsonPath("$[1].status").value("CANCELLED"));
+            assertEquals(50, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Cancelling twice releases the seat only once")
+        void cancelBookingTwice() throws Exception {
+            // Given
+            bookingService.cancelBooking(bookings.get(0).getId());
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/{id}/cancel", bookings.get(0).getId())
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isOk());
+            assertEquals(49, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Fail to cancel another user's booking")
+        void cancelAnotherUsersBooking() throws Exception {
+            // Given
+            userService.registerUser(UserRequest.builder()
+                    .username("other")
+                    .password("otherPass123")
+                    .email("other@test.com")
+                    .role(UserRole.CUSTOMER)
+                    .build());
+            String otherAuthHeader = "Basic " + Base64.getEncoder().encodeToString("other:otherPass123".getBytes());
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/{id}/cancel", bookings.get(0).getId())
+                    .header("Authorization", otherAuthHeader));
+
+            // Then
+            result.andExpect(status().isForbidden());
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+    }
+
+    @Nested
+    @DisplayName("Waitlist Endpoint Tests")
+    class WaitlistTests {
+
+        private ShowtimeResponse smallShowtime;
+        private List<BookingResponse> adminBookings;
+
+        @BeforeEach
+        void setUp() {
+            smallShowtime = showtimeService.createShowtime(new ShowtimeRequest(
+                    testMovie.getId(), testTheater.getId(), baseDateTime.plusHours(4), 2));
+            adminBookings = bookingService.createBooking("admin", new BookingRequest(
+                    smallShowtime.getId(), List.of(new SeatRequest(1), new SeatRequest(2))));
+        }
+
+        private ResultActions joinWaitlist(Long showtimeId, int seatCount) throws Exception {
+            return mockMvc.perform(post("/api/bookings/waitlist")
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new WaitlistRequest(showtimeId, seatCount))));
+        }
+
+        private JsonNode awaitOffer() throws Exception {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (true) {
+                String response = mockMvc.perform(get("/api/bookings/waitlist")
+                                .header("Authorization", customerAuthHeader))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+                JsonNode entry = objectMapper.readTree(response).get(0);
+                if ("OFFERED".equals(entry.get("status").asText()) || System.currentTimeMillis() > deadline) {
+                    return entry;
+                }
+                Thread.sleep(50);
+            }
+        }
+
+        @Test
+        @DisplayName("Cancelled seat is offered to the waitlist and can be confirmed")
+        void cancelledSeatIsOfferedToWaitlist() throws Exception {
+            // Given
+            joinWaitlist(smallShowtime.getId(), 1)
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.status").value("WAITING"))
+                    .andExpect(jsonPath("$.position").value(1));
+
+            // When
+            mockMvc.perform(post("/api/bookings/{id}/cancel", adminBookings.get(0).getId())
+                            .header("Authorization", adminAuthHeader))
+                    .andExpect(status().isOk());
+            JsonNode offer = awaitOffer();
+
+            // Then
+            assertEquals("OFFERED", offer.get("status").asText());
+            mockMvc.perform(post("/api/bookings/holds/{orderReference}/confirm", offer.get("orderReference").asText())
+                            .header("Authorization", customerAuthHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].seatNumber").value(1))
+                    .andExpect(jsonPath("$[0].status").value("CONFIRMED"));
+        }
+
+        @Test
+        @DisplayName("Fail to join the waitlist while seats are available")
+        void joinWaitlistWithSeatsAvailable() throws Exception {
+            // When
+            ResultActions result = joinWaitlist(testShowtime.getId(), 2);
+
+            // Then
+            result.andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Fail to join the same waitlist twice")
+        void joinWaitlistTwice() throws Exception {
+            // Given
+            joinWaitlist(smallShowtime.getId(), 1).andExpect(status().isCreated());
+
+            // When
+            ResultActions result = joinWaitlist(smallShowtime.getId(), 1);
+
+            // Then
+            result.andExpect(status().isConflict());
+        }
+    }
+
+    @Nested
+    @DisplayName("Waiting Room Endpoint Tests")
+    class WaitingRoomTests {
+
+        @BeforeEach
+        void setUp() throws Exception {
+            mockMvc.perform(put("/api/showtimes/{id}/waiting-room", testShowtime.getId())
+                            .param("enabled", "true")
+                            .header("Authorization", adminAuthHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.waitingRoom").value(true));
+        }
+
+        private String joinQueue() throws Exception {
+            String response = mockMvc.perform(post("/api/bookings/queue")
+                            .param("showtimeId", testShowtime.getId().toString())
+                            .header("Authorization", customerAuthHeader))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(response).get("token").asText();
+        }
+
+        @Test
+        @DisplayName("Fail to book a waiting-room showtime without a queue token")
+        void bookWithoutQueueToken() throws Exception {
+            // Given
+            BookingRequest request = createValidBookingRequest();
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings")
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+
+            // Then
+            result.andExpect(status().isTooManyRequests());
+            assertEquals(50, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Successfully book with an admitted queue token")
+        void bookWithAdmittedQueueToken() throws Exception {
+            // Given
+            String token = joinQueue();
+            mockMvc.perform(get("/api/bookings/queue/{token}", token)
+                            .header("Authorization", customerAuthHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("ADMITTED"))
+                    .andExpect(jsonPath("$.position").value(0));
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings")
+                    .header("Authorization", customerAuthHeader)
+                    .header("Queue-Token", token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createValidBookingRequest())));
+
+            // Then
+            result.andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("Retry with the same Idempotency-Key is replayed without a queue token")
+        void retryWithIdempotencyKeyAfterAdmission() throws Exception {
+            // Given
+            String token = joinQueue();
+            String idempotencyKey = UUID.randomUUID().toString();
+            String body = objectMapper.writeValueAsString(createValidBookingRequest());
+            MvcResult first = mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .header("Queue-Token", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            // When
+            MvcResult retry = mockMvc.perform(post("/api/bookings")
+                            .header("Authorization", customerAuthHeader)
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            // Then
+            BookingResponse[] original = objectMapper.readValue(first.getResponse().getContentAsString(), BookingResponse[].class);
+            BookingResponse[] replayed = objectMapper.readValue(retry.getResponse().getContentAsString(), BookingResponse[].class);
+            assertEquals(original[0].getOrderReference(), replayed[0].getOrderReference());
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Joining twice keeps the same place in line")
+        void joinQueueTwice() throws Exception {
+            // Given
+            String first = joinQueue();
+
+            // When
+            String second = joinQueue();
+
+            // Then
+            assertEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Fail to use another user's queue token")
+        void bookWithAnotherUsersQueueToken() throws Exception {
+            // Given
+            String token = joinQueue();
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings")
+                    .header("Authorization", adminAuthHeader)
+                    .header("Queue-Token", token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createValidBookingRequest())));
+
+            // Then
+            result.andExpect(status().isTooManyRequests());
+        }
+    }
+
+    @Nested
+    @DisplayName("Seat Hold Endpoint Tests")
+    class SeatHoldTests {
+
+        private String holdSeats() throws Exception {
+            String response = mockMvc.perform(post("/api/bookings/holds")
+                            .header("Authorization", customerAuthHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createValidBookingRequest())))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(response).get(0).get("orderReference").asText();
+        }
+
+        @Test
+        @DisplayName("Successfully hold seats")
+        void holdSeatsAsCustomer() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/holds")
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createValidBookingRequest())));
+
+            // Then
+            result.andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].status").value("PENDING"))
+                    .andExpect(jsonPath("$[0].holdExpiresAt").isNotEmpty())
+                    .andExpect(jsonPath("$[0].orderReference").isNotEmpty());
+            assertEquals(48, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Successfully confirm a live hold")
+        void confirmHold() throws Exception {
+            // Given
+            String orderReference = holdSeats();
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/holds/{orderReference}/confirm", orderReference)
+                    .header("Authorization", customerAuthHeader));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].status").value("CONFIRMED"))
+                    .andExpect(jsonPath("$[1].status").value("CONFIRMED"));
+        }
+
+        @Test
+        @DisplayName("Fail to confirm an expired hold, and release its seats")
+        void confirmExpiredHold() throws Exception {
+            // Given
+            String orderReference = holdSeats();
+            jdbcTemplate.update("UPDATE bookings SET hold_expires_at = ? WHERE order_reference = ?",
+                    LocalDateTime.now().minusSeconds(1), orderReference);
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/holds/{orderReference}/confirm", orderReference)
+                    .header("Authorization", customerAuthHeader));
+            int released = bookingService.releaseExpiredHolds(List.of(orderReference));
+
+            // Then
+            result.andExpect(status().isConflict());
+            assertEquals(2, released);
+            assertEquals(50, showtimeService.getShowtime(testShowtime.getId()).getAvailableSeats());
+            assertTrue(bookingService.isSeatAvailable(testShowtime.getId(), 1));
+        }
+
+        @Test
+        @DisplayName("Fail to confirm another user's hold")
+        void confirmAnotherUsersHold() throws Exception {
+            // Given
+            String orderReference = holdSeats();
+
+            // When
+            ResultActions result = mockMvc.perform(post("/api/bookings/holds/{orderReference}/confirm", orderReference)
+                    .header("Authorization", adminAuthHeader));
+
+            // Then
+            result.andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Asynchronous Booking Endpoint Tests")
+    class AsyncBookingTests {
+
+        private String submit(BookingRequest request) throws Exception {
+            String response = mockMvc.perform(post("/api/bookings/async")
+                            .header("Authorization", customerAuthHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.ticketId").isNotEmpty())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(response).get("ticketId").asText();
+        }
+
+        private ResultActions awaitTicket(String ticketId) throws Exception {
+            MvcResult pending = mockMvc.perform(get("/api/bookings/tickets/{ticketId}/await", ticketId)
+                            .param("timeoutSeconds", "10")
+                            .header("Authorization", customerAuthHeader))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(pending));
+        }
+
+        @Test
+        @DisplayName("Successfully book asynchronously and await the outcome")
+        void submitAndAwaitBooking() throws Exception {
+            // Given
+            String ticketId = submit(createValidBookingRequest());
+
+            // When
+            ResultActions result = awaitTicket(ticketId);
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONFIRMED"))
+                    .andExpect(jsonPath("$.bookings", hasSize(2)));
+            mockMvc.perform(get("/api/bookings/tickets/{ticketId}", ticketId)
+                            .header("Authorization", customerAuthHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONFIRMED"));
+        }
+
+        @Test
+        @DisplayName("Rejected asynchronous booking reports the error on its ticket")
+        void submitInvalidBooking() throws Exception {
+            // Given
+            String ticketId = submit(new BookingRequest(testShowtime.getId(), List.of(new SeatRequest(51))));
+
+            // When
+            ResultActions result = awaitTicket(ticketId);
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("FAILED"))
+                    .andExpect(jsonPath("$.errorCode").value(ErrorCode.INVALID_SEAT_NUMBER.getCode()));
+        }
+
+        @Test
+        @DisplayName("Fail to read another user's ticket")
+        void getAnotherUsersTicket() throws Exception {
+            // Given
+            String ticketId = submit(createValidBookingRequest());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/bookings/tickets/{ticketId}", ticketId)
+                    .header("Authorization", adminAuthHeader));
+
+            // Then
+            result.andExpect(status().isNotFound());
+        }
+    }
+}
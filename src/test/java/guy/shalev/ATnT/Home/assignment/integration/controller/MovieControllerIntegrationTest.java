@@ -18,13 +18,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.Base64;
+import java.util.List;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -327,4 +334,90 @@ class MovieControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.status").value(404));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Conditional GET Tests")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Unchanged catalog answers If-None-Match with 304")
+        void unchangedCatalogReturnsNotModified() throws Exception {
+            // Given
+            movieService.createMovie(createValidMovieRequest());
+            String eTag = mockMvc.perform(get("/api/movies"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/movies").header("If-None-Match", eTag));
+
+            // Then
+            result.andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("Catalog write changes the ETag")
+        void catalogWriteChangesETag() throws Exception {
+            // Given
+            String eTag = mockMvc.perform(get("/api/movies"))
+                    .andReturn().getResponse().getHeader("ETag");
+            mockMvc.perform(post("/api/movies")
+                    .header("Authorization", adminAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createValidMovieRequest())))
+                    .andExpect(status().isCreated());
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/movies").header("If-None-Match", eTag));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(header().string("ETag", not(eTag)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination Tests")
+    class PaginationTests {
+
+        @Test
+        @DisplayName("Pages through all movies with the next cursor")
+        void pagesThroughMovies() throws Exception {
+            // Given
+            for (String title : List.of("First", "Second", "Third")) {
+                MovieRequest request = createValidMovieRequest();
+                request.setTitle(title);
+                movieService.createMovie(request);
+            }
+
+            // When
+            MvcResult firstPage = mockMvc.perform(get("/api/movies").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].title", contains("First", "Second")))
+                    .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                    .andReturn();
+            String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+            ResultActions secondPage = mockMvc.perform(get("/api/movies").param("size", "2").param("cursor", cursor));
+
+            // Then
+            secondPage.andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].title", contains("Third")))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"))
+                    .andExpect(header().doesNotExist("Link"));
+        }
+
+        @Test
+        @DisplayName("Fail with a malformed cursor")
+        void malformedCursor() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(get("/api/movies").param("cursor", "not-a-cursor"));
+
+            // Then
+            result.andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid page cursor: not-a-cursor"));
+        }
+    }
+}
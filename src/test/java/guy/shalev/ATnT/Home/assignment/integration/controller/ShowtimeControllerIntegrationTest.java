@@ -2,7 +2,9 @@ package guy.shalev.ATnT.Home.assignment.integration.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import guy.shalev.ATnT.Home.assignment.integration.BaseIntegrationTest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.UserRequest;
@@ -10,9 +12,11 @@ import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
 import guy.shalev.ATnT.Home.assignment.service.MovieService;
 import guy.shalev.ATnT.Home.assignment.service.ShowtimeService;
 import guy.shalev.ATnT.Home.assignment.service.TheaterService;
@@ -31,8 +35,12 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -50,6 +58,12 @@ class ShowtimeControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ShowtimeService showtimeService;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Autowired
     private MovieService movieService;
 
@@ -80,6 +94,7 @@ class ShowtimeControllerIntegrationTest extends BaseIntegrationTest {
     @BeforeEach
     void setUp() {
         // Clean up the database
+        bookingRepository.deleteAll();
         showtimeRepository.deleteAll();
         movieRepository.deleteAll();
         theaterRepository.deleteAll();
@@ -225,6 +240,48 @@ class ShowtimeControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.theater.id").value(testTheater.getId()));
         }
 
+        @Test
+        @DisplayName("Successfully get the seat map in one call")
+        void getSeatMap() throws Exception {
+            // Given
+            bookingService.createBooking("customer", new BookingRequest(savedShowtime.getId(),
+                    List.of(new SeatRequest(1), new SeatRequest(3))));
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/showtimes/{id}/seat-map", savedShowtime.getId()));
+
+            // Then
+            String response = result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.showtimeId").value(savedShowtime.getId()))
+                    .andExpect(jsonPath("$.availableSeats").value(savedShowtime.getMaxSeats() - 2))
+                    .andReturn().getResponse().getContentAsString();
+            BitSet booked = BitSet.valueOf(Base64.getDecoder()
+                    .decode(objectMapper.readTree(response).get("bookedSeats").asText()));
+            assertEquals(2, booked.cardinality());
+            assertTrue(booked.get(1));
+            assertTrue(booked.get(3));
+        }
+
+        @Test
+        @DisplayName("Successfully find showtimes of a movie with adjacent free seats")
+        void findShowtimesWithAdjacentSeats() throws Exception {
+            // Given
+            ShowtimeResponse nearlyFull = showtimeService.createShowtime(new ShowtimeRequest(
+                    testMovie.getId(), testTheater.getId(), baseDateTime.plusHours(4), 4));
+            bookingService.createBooking("customer", new BookingRequest(nearlyFull.getId(),
+                    List.of(new SeatRequest(2), new SeatRequest(3))));
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/showtimes/movie/{movieId}/adjacent-seats", testMovie.getId())
+                    .param("quantity", "3"));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].showtimeId").value(savedShowtime.getId()))
+                    .andExpect(jsonPath("$[0].seatNumbers", hasSize(3)));
+        }
+
         @Test
         @DisplayName("Successfully get showtimes by movie")
         void getShowtimesByMovie() throws Exception {
@@ -384,4 +441,31 @@ class ShowtimeControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$").value(false));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Conditional GET Tests")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Booking a seat changes the showtime listing ETag")
+        void bookingChangesShowtimeListingETag() throws Exception {
+            // Given
+            ShowtimeResponse showtime = showtimeService.createShowtime(createValidShowtimeRequest());
+            String eTag = mockMvc.perform(get("/api/showtimes/movie/{movieId}", testMovie.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            mockMvc.perform(get("/api/showtimes/movie/{movieId}", testMovie.getId()).header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified());
+
+            // When
+            bookingService.createBooking("customer", new BookingRequest(showtime.getId(),
+                    List.of(new SeatRequest(1))));
+            ResultActions result = mockMvc.perform(get("/api/showtimes/movie/{movieId}", testMovie.getId())
+                    .header("If-None-Match", eTag));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].availableSeats").value(showtime.getMaxSeats() - 1));
+        }
+    }
+}
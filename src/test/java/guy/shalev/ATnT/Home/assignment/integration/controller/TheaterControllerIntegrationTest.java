@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import guy.shalev.ATnT.Home.assignment.integration.BaseIntegrationTest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterLayoutRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRowRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.UserRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
@@ -28,6 +31,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -385,4 +389,93 @@ class TheaterControllerIntegrationTest extends BaseIntegrationTest {
             showtimeService.createShowtime(showtimeRequest);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Theater Layout Endpoint Tests")
+    class TheaterLayoutTests {
+
+        private TheaterResponse theater;
+
+        @BeforeEach
+        void setUp() {
+            theater = theaterService.createTheater(new TheaterRequest("Layout Theater", 20));
+        }
+
+        private TheaterLayoutRequest createLayoutRequest() {
+            return new TheaterLayoutRequest(List.of(
+                    new TheaterRowRequest("Stalls", "A", 10, 2),
+                    new TheaterRowRequest("Stalls", "B", 10, 1)));
+        }
+
+        @Test
+        @DisplayName("Successfully set and get theater layout as admin")
+        void updateAndGetLayout() throws Exception {
+            // When
+            ResultActions updateResult = mockMvc.perform(put("/api/theaters/{id}/layout", theater.getId())
+                    .header("Authorization", adminAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createLayoutRequest())));
+
+            // Then
+            updateResult.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows", hasSize(2)));
+
+            mockMvc.perform(get("/api/theaters/{id}/layout", theater.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.capacity").value(20))
+                    .andExpect(jsonPath("$.rows[0].rowLabel").value("A"))
+                    .andExpect(jsonPath("$.rows[0].firstSeatNumber").value(1))
+                    .andExpect(jsonPath("$.rows[1].rowLabel").value("B"))
+                    .andExpect(jsonPath("$.rows[1].firstSeatNumber").value(11));
+        }
+
+        @Test
+        @DisplayName("Fail to set layout that does not match capacity")
+        void updateLayoutCapacityMismatch() throws Exception {
+            // Given
+            TheaterLayoutRequest request = new TheaterLayoutRequest(List.of(new TheaterRowRequest("Stalls", "A", 10, 1)));
+
+            // When
+            ResultActions result = mockMvc.perform(put("/api/theaters/{id}/layout", theater.getId())
+                    .header("Authorization", adminAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)));
+
+            // Then
+            result.andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Fail to set layout as customer")
+        void updateLayoutAsCustomer() throws Exception {
+            // When
+            ResultActions result = mockMvc.perform(put("/api/theaters/{id}/layout", theater.getId())
+                    .header("Authorization", customerAuthHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createLayoutRequest())));
+
+            // Then
+            result.andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Best available seats come from the preferred row")
+        void bestAvailableUsesLayout() throws Exception {
+            // Given
+            theaterService.updateLayout(theater.getId(), createLayoutRequest());
+            MovieResponse movie = movieService.createMovie(new MovieRequest("Layout Movie", "Drama", 100, "PG", 2024));
+            ShowtimeResponse showtime = showtimeService.createShowtime(new ShowtimeRequest(
+                    movie.getId(), theater.getId(), LocalDateTime.now().plusDays(1).withNano(0), 20));
+
+            // When
+            ResultActions result = mockMvc.perform(get("/api/showtimes/{id}/best-available", showtime.getId())
+                    .param("quantity", "4"));
+
+            // Then
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowLabel").value("B"))
+                    .andExpect(jsonPath("$.seatNumbers", hasSize(4)))
+                    .andExpect(jsonPath("$.seatNumbers[0]").value(14));
+        }
+    }
+}
@@ -281,7 +281,7 @@ class BookingIntegrationTest extends BaseIntegrationTest {
         @DisplayName("Successfully retrieve user bookings")
         void getUserBookingsSuccess() {
             // When
-            List<BookingResponse> userBookings = bookingService.getUserBookings(testUsername);
+            List<BookingResponse> userBookings = bookingService.getUserBookings(testUsername, null, null).items();
 
             // Then
             assertEquals(2, userBookings.size());
@@ -439,7 +439,8 @@ class BookingIntegrationTest extends BaseIntegrationTest {
                     "Seat should be marked as unavailable");
 
             // Verify the successful booking was properly saved
-            List<BookingResponse> allBookings = bookingService.getUserBookings(successfulUsers.iterator().next());
+            List<BookingResponse> allBookings = bookingService.getUserBookings(successfulUsers.iterator().next(), null, null)
+                    .items();
             assertEquals(1, allBookings.size(),
                     "Should have exactly one booking for the successful user");
             assertEquals(1, allBookings.get(0).getSeatNumber(),
@@ -1,5 +1,6 @@
 package guy.shalev.ATnT.Home.assignment.integration.service;
 
+import guy.shalev.ATnT.Home.assignment.config.CacheConfig;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.integration.BaseIntegrationTest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
@@ -7,6 +8,7 @@ import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.service.MovieService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +36,9 @@ class MovieIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private Validator validator;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         movieRepository.deleteAll();
@@ -156,7 +162,7 @@ class MovieIntegrationTest extends BaseIntegrationTest {
             movieService.createMovie(secondMovie);
 
             // When
-            List<MovieResponse> movies = movieService.getAllMovies();
+            List<MovieResponse> movies = movieService.getAllMovies(null, null).items();
 
             // Then
             assertEquals(2, movies.size());
@@ -320,4 +326,116 @@ class MovieIntegrationTest extends BaseIntegrationTest {
             ));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Movie Cache Tests")
+    class MovieCacheTests {
+
+        private MovieResponse savedMovie;
+
+        @BeforeEach
+        void setUp() {
+            savedMovie = movieService.createMovie(createValidMovieRequest());
+        }
+
+        private double movieCacheHits() {
+            return meterRegistry.get("cache.gets")
+                    .tag("cache", CacheConfig.MOVIES)
+                    .tag("result", "hit")
+                    .functionCounter()
+                    .count();
+        }
+
+        private double movieCacheLoads() {
+            return meterRegistry.get("cache.loads")
+                    .tag("cache", CacheConfig.MOVIES)
+                    .functionCounter()
+                    .count();
+        }
+
+        private double movieCacheLoadSeconds() {
+            return meterRegistry.get("cache.load.duration")
+                    .tag("cache", CacheConfig.MOVIES)
+                    .timeGauge()
+                    .value(TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("Repeated reads are served from the cache")
+        void repeatedReadsHitCache() {
+            // Given
+            movieService.getMovie(savedMovie.getId());
+            double hitsBefore = movieCacheHits();
+            Movie movie = movieRepository.findById(savedMovie.getId()).orElseThrow();
+            movie.setTitle("Changed Behind The Cache");
+            movieRepository.save(movie);
+
+            // When
+            MovieResponse response = movieService.getMovie(savedMovie.getId());
+
+            // Then
+            assertEquals("Test Movie", response.getTitle());
+            assertEquals(hitsBefore + 1, movieCacheHits());
+        }
+
+        @Test
+        @DisplayName("Cache misses are counted and timed as loads")
+        void cacheMissesRecordLoadMetrics() {
+            // Given
+            Movie uncached = new Movie();
+            uncached.setTitle("Not Cached Yet");
+            uncached.setGenre("Drama");
+            uncached.setDuration(100);
+            uncached.setRating("PG");
+            uncached.setReleaseYear(2024);
+            uncached = movieRepository.save(uncached);
+            double loadsBefore = movieCacheLoads();
+            double loadSecondsBefore = movieCacheLoadSeconds();
+
+            // When
+            movieService.getMovie(uncached.getId());
+            movieService.getMovie(uncached.getId());
+
+            // Then
+            assertEquals(loadsBefore + 1, movieCacheLoads());
+            assertTrue(movieCacheLoadSeconds() > loadSecondsBefore);
+        }
+
+        @Test
+        @DisplayName("Update refreshes the cached movie and listing")
+        void updateRefreshesCache() {
+            // Given
+            movieService.getMovie(savedMovie.getId());
+            movieService.getAllMovies(null, null);
+            MovieRequest updateRequest = createValidMovieRequest();
+            updateRequest.setTitle("Updated Title");
+
+            // When
+            movieService.updateMovie(savedMovie.getId(), updateRequest);
+
+            // Then
+            assertEquals("Updated Title", movieService.getMovie(savedMovie.getId()).getTitle());
+            assertEquals("Updated Title", movieService.getAllMovies(null, null).items().get(0).getTitle());
+        }
+
+        @Test
+        @DisplayName("Create and delete invalidate the cached listing")
+        void createAndDeleteInvalidateCache() {
+            // Given
+            movieService.getMovie(savedMovie.getId());
+            assertEquals(1, movieService.getAllMovies(null, null).items().size());
+
+            // When
+            MovieRequest secondMovie = createValidMovieRequest();
+            secondMovie.setTitle("Second Movie");
+            movieService.createMovie(secondMovie);
+            List<MovieResponse> afterCreate = movieService.getAllMovies(null, null).items();
+            movieService.deleteMovie(savedMovie.getId());
+
+            // Then
+            assertEquals(2, afterCreate.size());
+            assertEquals(1, movieService.getAllMovies(null, null).items().size());
+            assertThrows(NotFoundException.class, () -> movieService.getMovie(savedMovie.getId()));
+        }
+    }
+}
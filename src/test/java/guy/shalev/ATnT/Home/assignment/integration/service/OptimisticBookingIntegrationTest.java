@@ -0,0 +1,153 @@
+package guy.shalev.ATnT.Home.assignment.integration.service;
+
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.integration.BaseIntegrationTest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.*;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
+import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "app.booking.mode=OPTIMISTIC")
+@DisplayName("Optimistic Booking Integration Tests")
+class OptimisticBookingIntegrationTest extends BaseIntegrationTest {
+
+    private static final int NUMBER_OF_USERS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ShowtimeResponse testShowtime;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        theaterRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM authorities");
+        jdbcTemplate.execute("DELETE FROM users");
+        jdbcTemplate.execute("DELETE FROM app_users");
+
+        for (int i = 0; i < NUMBER_OF_USERS; i++) {
+            userService.registerUser(UserRequest.builder()
+                    .username("optimistic_user" + i)
+                    .password("password123")
+                    .email("optimistic_user" + i + "@example.com")
+                    .role(UserRole.CUSTOMER)
+                    .build());
+        }
+
+        MovieResponse movie = movieService.createMovie(new MovieRequest("Test Movie", "Action", 120, "PG-13", 2024));
+        TheaterResponse theater = theaterService.createTheater(new TheaterRequest("Test Theater", 100));
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withHour(12).withMinute(0).withSecond(0).withNano(0);
+        testShowtime = showtimeService.createShowtime(new ShowtimeRequest(movie.getId(), theater.getId(), startTime, 50));
+    }
+
+    @Test
+    @DisplayName("Disjoint seats on the same showtime are all booked")
+    void concurrentDisjointSeatsSucceed() throws InterruptedException {
+        // When
+        List<Exception> exceptions = runConcurrently(userIndex -> new BookingRequest(
+                testShowtime.getId(), List.of(new SeatRequest(userIndex + 1))));
+
+        // Then
+        assertTrue(exceptions.isEmpty(), "Unexpected exceptions: " + exceptions);
+        ShowtimeResponse updated = showtimeService.getShowtime(testShowtime.getId());
+        assertEquals(50 - NUMBER_OF_USERS, updated.getAvailableSeats());
+        assertEquals(NUMBER_OF_USERS, bookingRepository.count());
+    }
+
+    @Test
+    @DisplayName("Only one booking wins the same seat")
+    void concurrentSameSeatOnlyOneSucceeds() throws InterruptedException {
+        // When
+        List<Exception> exceptions = runConcurrently(userIndex -> new BookingRequest(
+                testShowtime.getId(), List.of(new SeatRequest(1))));
+
+        // Then
+        assertEquals(NUMBER_OF_USERS - 1, exceptions.size());
+        assertTrue(exceptions.stream().allMatch(ConflictException.class::isInstance),
+                "Expected only seat conflicts: " + exceptions);
+        ShowtimeResponse updated = showtimeService.getShowtime(testShowtime.getId());
+        assertEquals(49, updated.getAvailableSeats());
+        assertFalse(bookingService.isSeatAvailable(testShowtime.getId(), 1));
+    }
+
+    private List<Exception> runConcurrently(IntFunction<BookingRequest> requestForUser)
+            throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_USERS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch completionLatch = new CountDownLatch(NUMBER_OF_USERS);
+        List<Exception> exceptions = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < NUMBER_OF_USERS; i++) {
+            final int userIndex = i;
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    bookingService.createBooking("optimistic_user" + userIndex, requestForUser.apply(userIndex));
+                } catch (Exception e) {
+                    exceptions.add(e);
+                } finally {
+                    completionLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        assertTrue(completionLatch.await(10, TimeUnit.SECONDS), "Bookings did not complete in time");
+        executorService.shutdown();
+        return exceptions;
+    }
+}
@@ -27,6 +27,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,18 +197,18 @@ class ShowtimeIntegrationTest extends BaseIntegrationTest {
         @DisplayName("Successfully retrieve showtimes by movie")
         void getShowtimesByMovie() {
             // When
-            List<ShowtimeResponse> showtimes = showtimeService.getShowtimesByMovie(testMovie.getId());
+            List<ShowtimeResponse> showtimes = showtimeService.getShowtimesByMovie(testMovie.getId(), null, null).items();
 
             // Then
             assertEquals(1, showtimes.size());
-            assertEquals(savedShowtime.getId(), showtimes.get(0).getId());
+            assertEquals(savedShowtime, showtimes.get(0));
         }
 
         @Test
         @DisplayName("Successfully retrieve showtimes by theater")
         void getShowtimesByTheater() {
             // When
-            List<ShowtimeResponse> showtimes = showtimeService.getShowtimesByTheater(testTheater.getId());
+            List<ShowtimeResponse> showtimes = showtimeService.getShowtimesByTheater(testTheater.getId(), null, null).items();
 
             // Then
             assertEquals(1, showtimes.size());
@@ -330,4 +335,79 @@ class ShowtimeIntegrationTest extends BaseIntegrationTest {
             assertFalse(isAvailable);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Seat Accounting Tests")
+    class SeatAccountingTests {
+
+        @Test
+        @DisplayName("Concurrent seat reservations never oversell a showtime")
+        void concurrentReservationsNeverOversell() throws InterruptedException {
+            // Given
+            ShowtimeResponse showtime = showtimeService.createShowtime(createValidShowtimeRequest());
+            int attempts = 120;
+            ExecutorService executorService = Executors.newFixedThreadPool(20);
+            CountDownLatch startLatch = new CountDownLatch(1);
+            CountDownLatch completionLatch = new CountDownLatch(attempts);
+            AtomicInteger reservedSeats = new AtomicInteger();
+            AtomicInteger rejectedReservations = new AtomicInteger();
+
+            // When
+            for (int i = 0; i < attempts; i++) {
+                executorService.submit(() -> {
+                    try {
+                        startLatch.await();
+                        if (showtimeRepository.reserveSeats(showtime.getId(), 1) == 1) {
+                            reservedSeats.incrementAndGet();
+                        } else {
+                            rejectedReservations.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        completionLatch.countDown();
+                    }
+                });
+            }
+            startLatch.countDown();
+            assertTrue(completionLatch.await(30, TimeUnit.SECONDS));
+            executorService.shutdown();
+
+            // Then
+            assertEquals(50, reservedSeats.get());
+            assertEquals(attempts - 50, rejectedReservations.get());
+            assertEquals(0, showtimeService.getShowtime(showtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Reserving more seats than remain is rejected")
+        void reserveMoreThanAvailable() {
+            // Given
+            ShowtimeResponse showtime = showtimeService.createShowtime(createValidShowtimeRequest());
+
+            // When
+            int rows = showtimeRepository.reserveSeats(showtime.getId(), 51);
+
+            // Then
+            assertEquals(0, rows);
+            assertEquals(50, showtimeService.getShowtime(showtime.getId()).getAvailableSeats());
+        }
+
+        @Test
+        @DisplayName("Released seats never exceed the showtime maximum")
+        void releaseNeverExceedsMaxSeats() {
+            // Given
+            ShowtimeResponse showtime = showtimeService.createShowtime(createValidShowtimeRequest());
+            showtimeRepository.reserveSeats(showtime.getId(), 3);
+
+            // When
+            int released = showtimeRepository.releaseSeats(showtime.getId(), 3);
+            int overReleased = showtimeRepository.releaseSeats(showtime.getId(), 1);
+
+            // Then
+            assertEquals(1, released);
+            assertEquals(0, overReleased);
+            assertEquals(50, showtimeService.getShowtime(showtime.getId()).getAvailableSeats());
+        }
+    }
+}
@@ -268,7 +268,7 @@ class TheaterIntegrationTest extends BaseIntegrationTest {
             theaterService.createTheater(request2);
 
             // When
-            var theaters = theaterService.getAllTheaters();
+            var theaters = theaterService.getAllTheaters(null, null).items();
 
             // Then
             assertEquals(2, theaters.size());
@@ -0,0 +1,233 @@
+package guy.shalev.ATnT.Home.assignment.service.idempotency;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.mapper.BookingMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.Booking;
+import guy.shalev.ATnT.Home.assignment.model.entities.IdempotencyRecord;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import guy.shalev.ATnT.Home.assignment.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyStore idempotencyStore;
+    private BookingRequest request;
+    private List<BookingResponse> responses;
+    private IdempotencyRecord record;
+    private AtomicInteger bookingRuns;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, bookingRepository, bookingMapper,
+                transactionManager, 24, 100, 30);
+        request = new BookingRequest(1L, List.of(new SeatRequest(2), new SeatRequest(1)));
+
+        BookingResponse response = new BookingResponse();
+        response.setId(10L);
+        response.setOrderReference("order-1");
+        responses = List.of(response);
+
+        record = IdempotencyRecord.builder()
+                .id(5L)
+                .username("customer")
+                .idempotencyKey("key-1")
+                .requestHash(IdempotencyStore.hash(request))
+                .createdAt(LocalDateTime.now())
+                .build();
+        bookingRuns = new AtomicInteger();
+    }
+
+    private Supplier<List<BookingResponse>> booking() {
+        return () -> {
+            bookingRuns.incrementAndGet();
+            return responses;
+        };
+    }
+
+    @Test
+    void execute_RetryReturnsCachedResponsesWithoutBookingAgain() {
+        // Arrange
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenReturn(record);
+
+        // Act
+        List<BookingResponse> first = idempotencyStore.execute("customer", "key-1", request, booking());
+        List<BookingResponse> retry = idempotencyStore.execute("customer", "key-1", request, booking());
+
+        // Assert
+        assertSame(first, retry);
+        assertEquals(1, bookingRuns.get());
+        assertEquals("order-1", record.getOrderReference());
+        verify(idempotencyRecordRepository).save(record);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void execute_SameSeatsInDifferentOrderCountAsSameRequest() {
+        // Arrange
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenReturn(record);
+        BookingRequest reordered = new BookingRequest(1L, List.of(new SeatRequest(1), new SeatRequest(2)));
+        idempotencyStore.execute("customer", "key-1", request, booking());
+
+        // Act
+        List<BookingResponse> retry = idempotencyStore.execute("customer", "key-1", reordered, booking());
+
+        // Assert
+        assertEquals(responses, retry);
+        assertEquals(1, bookingRuns.get());
+    }
+
+    @Test
+    void execute_DifferentRequestWithSameKey_ThrowsConflict() {
+        // Arrange
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenReturn(record);
+        idempotencyStore.execute("customer", "key-1", request, booking());
+        BookingRequest other = new BookingRequest(1L, List.of(new SeatRequest(3)));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> idempotencyStore.execute("customer", "key-1", other, booking()));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+        assertEquals(1, bookingRuns.get());
+    }
+
+    @Test
+    void execute_KeyCompletedOnAnotherNode_ReplaysFromDatabase() {
+        // Arrange
+        record.setOrderReference("order-1");
+        List<Booking> bookings = List.of(new Booking());
+        when(idempotencyRecordRepository.findByUsernameAndIdempotencyKey("customer", "key-1"))
+                .thenReturn(Optional.of(record));
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(bookings);
+        when(bookingMapper.toResponseList(bookings)).thenReturn(responses);
+
+        // Act
+        List<BookingResponse> result = idempotencyStore.execute("customer", "key-1", request, booking());
+
+        // Assert
+        assertEquals(responses, result);
+        assertEquals(0, bookingRuns.get());
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_KeyClaimedConcurrentlyOnAnotherNode_ReplaysItsBooking() {
+        // Arrange
+        record.setOrderReference("order-1");
+        List<Booking> bookings = List.of(new Booking());
+        when(idempotencyRecordRepository.findByUsernameAndIdempotencyKey("customer", "key-1"))
+                .thenReturn(Optional.empty(), Optional.of(record));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(bookings);
+        when(bookingMapper.toResponseList(bookings)).thenReturn(responses);
+
+        // Act
+        List<BookingResponse> result = idempotencyStore.execute("customer", "key-1", request, booking());
+
+        // Assert
+        assertEquals(responses, result);
+        assertEquals(0, bookingRuns.get());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void execute_KeyWithoutOrderReferenceWithinBookingTimeout_ThrowsConflict() {
+        // Arrange
+        when(idempotencyRecordRepository.findByUsernameAndIdempotencyKey("customer", "key-1"))
+                .thenReturn(Optional.of(record));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> idempotencyStore.execute("customer", "key-1", request, booking()));
+        assertEquals(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS, exception.getErrorCode());
+        assertEquals(0, bookingRuns.get());
+    }
+
+    @Test
+    void execute_KeyAbandonedPastBookingTimeout_BooksAgain() {
+        // Arrange
+        IdempotencyRecord abandoned = IdempotencyRecord.builder()
+                .id(4L)
+                .username("customer")
+                .idempotencyKey("key-1")
+                .requestHash(IdempotencyStore.hash(request))
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+        when(idempotencyRecordRepository.findByUsernameAndIdempotencyKey("customer", "key-1"))
+                .thenReturn(Optional.of(abandoned));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenReturn(record);
+
+        // Act
+        List<BookingResponse> result = idempotencyStore.execute("customer", "key-1", request, booking());
+
+        // Assert
+        assertEquals(responses, result);
+        assertEquals(1, bookingRuns.get());
+        verify(idempotencyRecordRepository).delete(abandoned);
+    }
+
+    @Test
+    void execute_FailedBookingReleasesKey() {
+        // Arrange
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenReturn(record);
+        BadRequestException failure = new BadRequestException(ErrorCode.INVALID_SEAT_NUMBER, "Invalid seat");
+
+        // Act
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> idempotencyStore.execute("customer", "key-1", request, () -> {
+                    throw failure;
+                }));
+
+        // Assert
+        assertSame(failure, exception);
+        verify(transactionManager).rollback(any());
+        assertEquals(responses, idempotencyStore.execute("customer", "key-1", request, booking()));
+        assertEquals(1, bookingRuns.get());
+    }
+
+    @Test
+    void execute_KeyTooLong_ThrowsBadRequest() {
+        // Arrange
+        String key = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> idempotencyStore.execute("customer", key, request, booking()));
+        assertEquals(ErrorCode.INVALID_REQUEST_PARAMETER, exception.getErrorCode());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+}
@@ -1,35 +1,65 @@
 package guy.shalev.ATnT.Home.assignment.service.impl;
 
+import guy.shalev.ATnT.Home.assignment.concurrency.ShowtimeLockManager;
 import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.BookingMapper;
+import guy.shalev.ATnT.Home.assignment.mapper.ShowtimeMapper;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.CartRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAvailabilityResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.*;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingMode;
 import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
 import guy.shalev.ATnT.Home.assignment.model.enums.UserRole;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookingRow;
+import guy.shalev.ATnT.Home.assignment.model.projection.HeldSeat;
+import guy.shalev.ATnT.Home.assignment.model.projection.ShowtimeRow;
 import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.service.inventory.HoldExpiryScheduler;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingCommand;
+import guy.shalev.ATnT.Home.assignment.service.pipeline.BookingOutcome;
+import guy.shalev.ATnT.Home.assignment.service.waitlist.WaitlistDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +78,24 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ShowtimeMapper showtimeMapper;
+
+    @Mock
+    private SeatInventoryManager seatInventoryManager;
+
+    @Mock
+    private ShowtimeLockManager showtimeLockManager;
+
+    @Mock
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Mock
+    private WaitlistDispatcher waitlistDispatcher;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(50, 200);
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -64,6 +112,8 @@ class BookingServiceImplTest {
     void setUp() {
         // Set ticket price using reflection since it's normally set via @Value
         ReflectionTestUtils.setField(bookingService, "ticketPrice", new BigDecimal("10.00"));
+        ReflectionTestUtils.setField(bookingService, "bookingMode", BookingMode.LOCKING);
+        ReflectionTestUtils.setField(bookingService, "holdTtlSeconds", 300L);
 
         // Initialize test data
         user = User.builder()
@@ -121,9 +171,8 @@ class BookingServiceImplTest {
         // Arrange
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
         when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
-        when(bookingRepository.findByShowtimeAndSeatNumber(any(), eq(1)))
-                .thenReturn(Optional.empty());
-        when(bookingRepository.saveAll(any())).thenReturn(List.of(booking));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenReturn(List.of(booking));
         when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
 
         // Act
@@ -134,7 +183,62 @@ class BookingServiceImplTest {
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(BookingStatus.CONFIRMED, result.get(0).getStatus());
-        verify(showtimeRepository).save(any(Showtime.class));
+        verify(seatInventoryManager).claimSeats(showtime, List.of(1));
+        verify(showtimeRepository).reserveSeats(1L, 1);
+        verify(showtimeRepository, never()).save(any(Showtime.class));
+    }
+
+    @Test
+    void createBooking_OptimisticModeSkipsShowtimeLock() {
+        // Arrange
+        ReflectionTestUtils.setField(bookingService, "bookingMode", BookingMode.OPTIMISTIC);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenReturn(List.of(booking));
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        List<BookingResponse> result = bookingService.createBooking(username, bookingRequest);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(showtimeRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void createBooking_SingleNodeModeUsesInProcessLock() {
+        // Arrange
+        ReflectionTestUtils.setField(bookingService, "bookingMode", BookingMode.SINGLE_NODE);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenReturn(List.of(booking));
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        List<BookingResponse> result = bookingService.createBooking(username, bookingRequest);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(showtimeLockManager).lockUntilTransactionEnds(List.of(1L));
+        verify(showtimeRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void createBooking_OptimisticModeSeatConstraintViolation() {
+        // Arrange
+        ReflectionTestUtils.setField(bookingService, "bookingMode", BookingMode.OPTIMISTIC);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_bookings_showtime_seat"));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.createBooking(username, bookingRequest));
+        assertEquals(ErrorCode.SEAT_ALREADY_BOOKED, exception.getErrorCode());
     }
 
     @Test
@@ -173,13 +277,27 @@ class BookingServiceImplTest {
         assertEquals(ErrorCode.INSUFFICIENT_SEATS, exception.getErrorCode());
     }
 
+    @Test
+    void createBooking_SeatsTakenBeforeCapacityUpdate() {
+        // Arrange
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(0);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.createBooking(username, bookingRequest));
+        assertEquals(ErrorCode.INSUFFICIENT_SEATS, exception.getErrorCode());
+        verify(bookingRepository, never()).saveAllAndFlush(any());
+    }
+
     @Test
     void createBooking_SeatAlreadyBooked() {
         // Arrange
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
         when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
-        when(bookingRepository.findByShowtimeAndSeatNumber(any(), eq(1)))
-                .thenReturn(Optional.of(booking));
+        doThrow(new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "Seat 1 is already booked"))
+                .when(seatInventoryManager).claimSeats(showtime, List.of(1));
 
         // Act & Assert
         ConflictException exception = assertThrows(ConflictException.class,
@@ -232,16 +350,27 @@ class BookingServiceImplTest {
     void getUserBookings_Success() {
         // Arrange
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByUser(user)).thenReturn(List.of(booking));
-        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+        BookingRow first = new BookingRow(1L, 1L, 1, new BigDecimal("10.00"), LocalDateTime.now(),
+                BookingStatus.CONFIRMED, "order-1", null);
+        BookingRow second = new BookingRow(2L, 1L, 2, new BigDecimal("10.00"), LocalDateTime.now(),
+                BookingStatus.CONFIRMED, "order-1", null);
+        ShowtimeRow showtimeRow = new ShowtimeRow(1L, 1L, "Test Movie", "Action", 120, "PG-13", 2024,
+                1L, "Test Theater", 100, showtime.getStartTime(), showtime.getEndTime(), 48, 50, false);
+        ShowtimeResponse showtimeResponse = new ShowtimeResponse();
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(bookingRepository.findRowsByUser(1L, 0L, Limit.of(11))).thenReturn(List.of(first, second));
+        when(showtimeRepository.findRowsByIdIn(Set.of(1L))).thenReturn(List.of(showtimeRow));
+        when(showtimeMapper.toResponse(showtimeRow)).thenReturn(showtimeResponse);
+        when(bookingMapper.toResponse(any(BookingRow.class), eq(showtimeResponse))).thenReturn(bookingResponse);
 
         // Act
-        List<BookingResponse> results = bookingService.getUserBookings(username);
+        CursorPage<BookingResponse> results = bookingService.getUserBookings(username, null, 10);
 
         // Assert
         assertNotNull(results);
-        assertFalse(results.isEmpty());
-        assertEquals(1, results.size());
+        assertEquals(2, results.items().size());
+        assertFalse(results.hasNext());
+        verify(showtimeRepository).findRowsByIdIn(Set.of(1L));
     }
 
     @Test
@@ -251,15 +380,289 @@ class BookingServiceImplTest {
 
         // Act & Assert
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> bookingService.getUserBookings(username));
+                () -> bookingService.getUserBookings(username, null, null));
         assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
     }
 
+    @Test
+    void createBookingBatch_RejectsConflictingCommandOnly() {
+        // Arrange
+        BookingCommand first = new BookingCommand(username, bookingRequest);
+        BookingCommand conflicting = new BookingCommand(username, bookingRequest);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
+        doNothing().doThrow(new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "Seat 1 is already booked"))
+                .when(seatInventoryManager).claimSeats(showtime, List.of(1));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        List<BookingOutcome> outcomes = bookingService.createBookingBatch(1L, List.of(first, conflicting));
+
+        // Assert
+        assertEquals(2, outcomes.size());
+        assertNull(outcomes.get(0).failure());
+        assertEquals(1, outcomes.get(0).bookings().size());
+        assertInstanceOf(ConflictException.class, outcomes.get(1).failure());
+        verify(showtimeRepository, times(1)).findByIdWithLock(1L);
+        verify(bookingRepository, times(1)).saveAllAndFlush(any());
+    }
+
+    @Test
+    void checkoutCart_LocksShowtimesInIdOrderAndSavesOnce() {
+        // Arrange
+        Showtime secondShowtime = Showtime.builder()
+                .id(2L)
+                .movie(movie)
+                .theater(theater)
+                .maxSeats(50)
+                .availableSeats(50)
+                .build();
+        CartRequest cartRequest = new CartRequest(List.of(
+                new BookingRequest(2L, List.of(new SeatRequest(3))),
+                new BookingRequest(1L, List.of(new SeatRequest(1), new SeatRequest(2)))));
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdWithLock(2L)).thenReturn(Optional.of(secondShowtime));
+        when(showtimeRepository.reserveSeats(any(), anyInt())).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        bookingService.checkoutCart(username, cartRequest);
+
+        // Assert
+        InOrder lockOrder = inOrder(showtimeRepository);
+        lockOrder.verify(showtimeRepository).findByIdWithLock(1L);
+        lockOrder.verify(showtimeRepository).findByIdWithLock(2L);
+        verify(showtimeRepository).reserveSeats(1L, 2);
+        verify(showtimeRepository).reserveSeats(2L, 1);
+        verify(bookingRepository, times(1)).saveAllAndFlush(argThat(bookings -> {
+            List<Booking> saved = new ArrayList<>();
+            bookings.forEach(saved::add);
+            return saved.size() == 3 && saved.stream().map(Booking::getOrderReference).distinct().count() == 1;
+        }));
+    }
+
+    @Test
+    void checkoutCart_SecondShowtimeSoldOut() {
+        // Arrange
+        Showtime soldOut = Showtime.builder()
+                .id(2L)
+                .maxSeats(50)
+                .availableSeats(0)
+                .build();
+        CartRequest cartRequest = new CartRequest(List.of(
+                new BookingRequest(1L, List.of(new SeatRequest(1))),
+                new BookingRequest(2L, List.of(new SeatRequest(1)))));
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdWithLock(2L)).thenReturn(Optional.of(soldOut));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.checkoutCart(username, cartRequest));
+        assertEquals(ErrorCode.INSUFFICIENT_SEATS, exception.getErrorCode());
+        verify(bookingRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void holdSeats_CreatesPendingBookingsAndSchedulesExpiry() {
+        // Arrange
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+        when(showtimeRepository.findByIdWithLock(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.reserveSeats(1L, 1)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        bookingService.holdSeats(username, bookingRequest);
+
+        // Assert
+        verify(bookingRepository).saveAllAndFlush(argThat(bookings -> {
+            Booking hold = bookings.iterator().next();
+            return hold.getStatus() == BookingStatus.PENDING
+                    && hold.getHoldExpiresAt().isAfter(LocalDateTime.now().plusSeconds(290))
+                    && hold.getOrderReference() != null;
+        }));
+        verify(holdExpiryScheduler).schedule(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void confirmHold_Success() {
+        // Arrange
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setOrderReference("order-1");
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(List.of(booking));
+        when(bookingRepository.confirmHold(eq("order-1"), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        List<BookingResponse> result = bookingService.confirmHold(username, "order-1");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(holdExpiryScheduler).cancel("order-1");
+    }
+
+    @Test
+    void confirmHold_Expired() {
+        // Arrange
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setOrderReference("order-1");
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(List.of(booking));
+        when(bookingRepository.confirmHold(eq("order-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.confirmHold(username, "order-1"));
+        assertEquals(ErrorCode.HOLD_EXPIRED, exception.getErrorCode());
+        verify(holdExpiryScheduler, never()).cancel(any());
+    }
+
+    @Test
+    void confirmHold_OtherUsersHoldNotFound() {
+        // Arrange
+        booking.setOrderReference("order-1");
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(List.of(booking));
+
+        // Act & Assert
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingService.confirmHold("someoneElse", "order-1"));
+        assertEquals(ErrorCode.BOOKING_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void releaseExpiredHolds_RestoresSeats() {
+        // Arrange
+        when(bookingRepository.findExpiredHolds(eq(List.of("order-1")), any(LocalDateTime.class)))
+                .thenReturn(List.of(new HeldSeat(10L, 1L, 4), new HeldSeat(11L, 1L, 5)));
+        when(bookingRepository.deleteExpiredHolds(eq(List.of(10L, 11L)), any(LocalDateTime.class))).thenReturn(2);
+
+        // Act
+        int released = bookingService.releaseExpiredHolds(List.of("order-1"));
+
+        // Assert
+        assertEquals(2, released);
+        verify(showtimeRepository).releaseSeats(1L, 2);
+        verify(seatInventoryManager).releaseSeats(1L, List.of(4, 5));
+        verify(waitlistDispatcher).seatsReleased(1L, List.of(4, 5));
+    }
+
+    @Test
+    void releaseExpiredHolds_SomeConfirmedMeanwhile_EvictsInventory() {
+        // Arrange
+        when(bookingRepository.findExpiredHolds(eq(List.of("order-1")), any(LocalDateTime.class)))
+                .thenReturn(List.of(new HeldSeat(10L, 1L, 4), new HeldSeat(11L, 1L, 5)));
+        when(bookingRepository.deleteExpiredHolds(eq(List.of(10L, 11L)), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        int released = bookingService.releaseExpiredHolds(List.of("order-1"));
+
+        // Assert
+        assertEquals(1, released);
+        verify(seatInventoryManager).evict(1L);
+        verify(seatInventoryManager, never()).releaseSeats(any(), any());
+    }
+
+    @Test
+    void cancelBooking_Success() {
+        // Arrange
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBookings(List.of(1L))).thenReturn(1);
+        when(showtimeRepository.releaseSeats(1L, 1)).thenReturn(1);
+        when(bookingMapper.toResponse(booking)).thenReturn(bookingResponse);
+
+        // Act
+        BookingResponse result = bookingService.cancelBooking(1L);
+
+        // Assert
+        assertNotNull(result);
+        verify(showtimeRepository).releaseSeats(1L, 1);
+        verify(seatInventoryManager).releaseSeats(1L, List.of(1));
+        verify(waitlistDispatcher).seatsReleased(1L, List.of(1));
+        verify(showtimeLockManager, never()).lockUntilTransactionEnds(any());
+        verify(showtimeRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void cancelBooking_AlreadyCancelled_ReleasesNothing() {
+        // Arrange
+        booking.setStatus(BookingStatus.CANCELLED);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingMapper.toResponse(booking)).thenReturn(bookingResponse);
+
+        // Act
+        bookingService.cancelBooking(1L);
+
+        // Assert
+        verify(bookingRepository, never()).cancelBookings(any());
+        verify(showtimeRepository, never()).releaseSeats(any(), anyInt());
+    }
+
+    @Test
+    void cancelBooking_CancelledConcurrently_ThrowsException() {
+        // Arrange
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelBookings(List.of(1L))).thenReturn(0);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.cancelBooking(1L));
+        assertEquals(ErrorCode.CONCURRENT_MODIFICATION, exception.getErrorCode());
+        verify(showtimeRepository, never()).releaseSeats(any(), anyInt());
+        verify(seatInventoryManager, never()).releaseSeats(any(), any());
+    }
+
+    @Test
+    void cancelBooking_ShowtimeStarted_ThrowsException() {
+        // Arrange
+        showtime.setStartTime(LocalDateTime.now().minusMinutes(10));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.cancelBooking(1L));
+        assertEquals(ErrorCode.CANCELLATION_CLOSED, exception.getErrorCode());
+        verify(bookingRepository, never()).cancelBookings(any());
+    }
+
+    @Test
+    void cancelOrder_ReleasesSeatsPerShowtime() {
+        // Arrange
+        Booking second = Booking.builder().id(2L).user(user).showtime(showtime).seatNumber(2)
+                .status(BookingStatus.CONFIRMED).orderReference("order-1").build();
+        booking.setOrderReference("order-1");
+        when(bookingRepository.findByOrderReference("order-1")).thenReturn(List.of(booking, second));
+        when(bookingRepository.cancelBookings(List.of(1L, 2L))).thenReturn(2);
+        when(showtimeRepository.releaseSeats(1L, 2)).thenReturn(1);
+        when(bookingMapper.toResponseList(any())).thenReturn(List.of(bookingResponse));
+
+        // Act
+        bookingService.cancelOrder("order-1");
+
+        // Assert
+        verify(showtimeRepository).releaseSeats(1L, 2);
+        verify(seatInventoryManager).releaseSeats(1L, List.of(1, 2));
+    }
+
+    @Test
+    void cancelOrder_NotFound() {
+        // Arrange
+        when(bookingRepository.findByOrderReference("missing")).thenReturn(List.of());
+
+        // Act & Assert
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingService.cancelOrder("missing"));
+        assertEquals(ErrorCode.BOOKING_NOT_FOUND, exception.getErrorCode());
+    }
+
     @Test
     void isSeatAvailable_Available() {
         // Arrange
-        when(bookingRepository.findByShowtimeAndSeatNumber(any(Showtime.class), eq(1)))
-                .thenReturn(Optional.empty());
+        when(bookingRepository.existsByShowtimeIdAndSeatClaim(1L, 1)).thenReturn(false);
 
         // Act
         boolean result = bookingService.isSeatAvailable(1L, 1);
@@ -271,8 +674,7 @@ class BookingServiceImplTest {
     @Test
     void isSeatAvailable_NotAvailable() {
         // Arrange
-        when(bookingRepository.findByShowtimeAndSeatNumber(any(Showtime.class), eq(1)))
-                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByShowtimeIdAndSeatClaim(1L, 1)).thenReturn(true);
 
         // Act
         boolean result = bookingService.isSeatAvailable(1L, 1);
@@ -280,4 +682,60 @@ class BookingServiceImplTest {
         // Assert
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSeatAvailability_SeatList() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbersIn(1L, List.of(3, 4, 5))).thenReturn(List.of(4));
+
+        // Act
+        List<SeatAvailabilityResponse> result = bookingService.getSeatAvailability(1L, List.of(3, 4, 5, 4), null, null);
+
+        // Assert
+        assertEquals(List.of(
+                new SeatAvailabilityResponse(3, true),
+                new SeatAvailabilityResponse(4, false),
+                new SeatAvailabilityResponse(5, true)), result);
+    }
+
+    @Test
+    void getSeatAvailability_SeatRange() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbersIn(1L, List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+
+        // Act
+        List<SeatAvailabilityResponse> result = bookingService.getSeatAvailability(1L, null, 1, 3);
+
+        // Assert
+        assertEquals(List.of(false, true, false),
+                result.stream().map(SeatAvailabilityResponse::isAvailable).toList());
+    }
+
+    @Test
+    void getSeatAvailability_ListAndRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getSeatAvailability(1L, List.of(1), 1, 3));
+        verify(bookingRepository, never()).findBookedSeatNumbersIn(any(), any());
+    }
+
+    @Test
+    void getSeatAvailability_RangeTooLarge_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getSeatAvailability(1L, null, 1, 5000));
+        verify(bookingRepository, never()).findBookedSeatNumbersIn(any(), any());
+    }
+
+    @Test
+    void getSeatAvailability_HugeRange_RejectedBeforeExpanding() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getSeatAvailability(1L, null, 1, Integer.MAX_VALUE));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getSeatAvailability(1L, null, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getSeatAvailability(1L, null, 10, 5));
+        verify(bookingRepository, never()).findBookedSeatNumbersIn(any(), any());
+    }
+}
@@ -7,12 +7,18 @@ import guy.shalev.ATnT.Home.assignment.model.dto.request.MovieRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.MovieResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +38,12 @@ class MovieServiceImplTest {
     @Mock
     private MovieMapper movieMapper;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(50, 200);
+
     @InjectMocks
     private MovieServiceImpl movieService;
 
@@ -81,6 +93,7 @@ class MovieServiceImplTest {
         assertEquals(movieResponse.getId(), result.getId());
         assertEquals(movieResponse.getTitle(), result.getTitle());
         verify(movieRepository).save(any(Movie.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -112,20 +125,33 @@ class MovieServiceImplTest {
     @Test
     void getAllMovies_Success() {
         // Arrange
-        List<Movie> movies = Collections.singletonList(movie);
         List<MovieResponse> movieResponses = Collections.singletonList(movieResponse);
 
-        when(movieRepository.findAll()).thenReturn(movies);
-        when(movieMapper.toResponseList(movies)).thenReturn(movieResponses);
+        when(movieRepository.findPageAfter(0L, Limit.of(51))).thenReturn(movieResponses);
 
         // Act
-        List<MovieResponse> results = movieService.getAllMovies();
+        CursorPage<MovieResponse> results = movieService.getAllMovies(null, null);
 
         // Assert
         assertNotNull(results);
-        assertFalse(results.isEmpty());
-        assertEquals(1, results.size());
-        assertEquals(movieResponse.getId(), results.get(0).getId());
+        assertEquals(1, results.items().size());
+        assertEquals(movieResponse.getId(), results.items().get(0).getId());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void getAllMovies_ReturnsCursorWhenMoreRowsFollow() {
+        // Arrange
+        MovieResponse second = new MovieResponse(2L, "Second", "Drama", 90, "PG", 2023);
+        MovieResponse third = new MovieResponse(3L, "Third", "Drama", 90, "PG", 2023);
+        when(movieRepository.findPageAfter(0L, Limit.of(3))).thenReturn(List.of(movieResponse, second, third));
+
+        // Act
+        CursorPage<MovieResponse> results = movieService.getAllMovies(null, 2);
+
+        // Assert
+        assertEquals(2, results.items().size());
+        assertEquals(2L, PageCursor.decode(results.nextCursor()));
     }
 
     @Test
@@ -143,6 +169,7 @@ class MovieServiceImplTest {
         assertEquals(movieResponse.getId(), result.getId());
         assertEquals(movieResponse.getTitle(), result.getTitle());
         verify(movieRepository).save(any(Movie.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -166,6 +193,7 @@ class MovieServiceImplTest {
 
         // Assert
         verify(movieRepository).deleteById(1L);
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -6,12 +6,19 @@ import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.ShowtimeMapper;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.ShowtimeRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatAllocationResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.SeatMapResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.ShowtimeResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.*;
 import guy.shalev.ATnT.Home.assignment.model.enums.BookingStatus;
 import guy.shalev.ATnT.Home.assignment.repository.MovieRepository;
 import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRowRepository;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventory;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import guy.shalev.ATnT.Home.assignment.service.waitingroom.WaitingRoom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,12 +29,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,9 +54,21 @@ class ShowtimeServiceImplTest {
     @Mock
     private TheaterRepository theaterRepository;
 
+    @Mock
+    private TheaterRowRepository theaterRowRepository;
+
     @Mock
     private ShowtimeMapper showtimeMapper;
 
+    @Mock
+    private SeatInventoryManager seatInventoryManager;
+
+    @Mock
+    private WaitingRoom waitingRoom;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private ShowtimeServiceImpl showtimeService;
 
@@ -109,6 +133,7 @@ class ShowtimeServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(showtimeRepository).save(any(Showtime.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -122,6 +147,102 @@ class ShowtimeServiceImplTest {
         assertEquals(ErrorCode.MOVIE_NOT_FOUND, exception.getErrorCode());
     }
 
+    @Test
+    void getSeatMap_FromLoadedInventory() {
+        // Arrange
+        SeatInventory inventory = new SeatInventory(10, List.of(1, 3));
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.of(inventory));
+
+        // Act
+        SeatMapResponse result = showtimeService.getSeatMap(1L);
+
+        // Assert
+        assertEquals(10, result.getMaxSeats());
+        assertEquals(8, result.getAvailableSeats());
+        BitSet booked = BitSet.valueOf(Base64.getDecoder().decode(result.getBookedSeats()));
+        assertEquals(BitSet.valueOf(new long[]{0b1010}), booked);
+        verify(showtimeRepository, never()).findById(any());
+    }
+
+    @Test
+    void getSeatMap_ShowtimeNotFound() {
+        // Arrange
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> showtimeService.getSeatMap(1L));
+        assertEquals(ErrorCode.SHOWTIME_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void findBestAvailableSeats_UsesTheaterLayout() {
+        // Arrange
+        TheaterRow front = TheaterRow.builder().section("Stalls").rowLabel("A").firstSeatNumber(1).seatCount(5).preferenceRank(2).build();
+        TheaterRow middle = TheaterRow.builder().section("Stalls").rowLabel("B").firstSeatNumber(6).seatCount(5).preferenceRank(1).build();
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(seatInventoryManager.getInventory(showtime)).thenReturn(new SeatInventory(10, List.of(6, 7)));
+        when(theaterRowRepository.findByTheaterIdOrderByPreferenceRankAscFirstSeatNumberAsc(1L))
+                .thenReturn(List.of(middle, front));
+
+        // Act
+        SeatAllocationResponse result = showtimeService.findBestAvailableSeats(1L, 3);
+
+        // Assert
+        assertEquals("B", result.getRowLabel());
+        assertEquals(List.of(8, 9, 10), result.getSeatNumbers());
+    }
+
+    @Test
+    void findBestAvailableSeats_NoAdjacentSeats() {
+        // Arrange
+        showtime.setMaxSeats(4);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(seatInventoryManager.getInventory(showtime)).thenReturn(new SeatInventory(4, List.of(2)));
+        when(theaterRowRepository.findByTheaterIdOrderByPreferenceRankAscFirstSeatNumberAsc(1L))
+                .thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> showtimeService.findBestAvailableSeats(1L, 3));
+        assertEquals(ErrorCode.NO_ADJACENT_SEATS, exception.getErrorCode());
+    }
+
+    @Test
+    void findShowtimesWithAdjacentSeats_ReturnsOnlyShowtimesWithABlock() {
+        // Arrange
+        Showtime fragmented = Showtime.builder().id(2L).theater(theater).startTime(startTime.plusHours(3))
+                .maxSeats(6).availableSeats(3).build();
+        showtime.setMaxSeats(6);
+        when(movieRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.findSearchCandidates(1L, startTime, null, 3)).thenReturn(List.of(showtime, fragmented));
+        when(seatInventoryManager.getInventories(List.of(showtime, fragmented))).thenReturn(Map.of(
+                1L, new SeatInventory(6, List.of(1)),
+                2L, new SeatInventory(6, List.of(2, 4, 6))));
+        when(theaterRowRepository.findByTheaterIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // Act
+        List<SeatAllocationResponse> result = showtimeService.findShowtimesWithAdjacentSeats(1L, 3, startTime, null);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getShowtimeId());
+        assertEquals(List.of(2, 3, 4), result.get(0).getSeatNumbers());
+    }
+
+    @Test
+    void findShowtimesWithAdjacentSeats_MovieNotFound() {
+        // Arrange
+        when(movieRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> showtimeService.findShowtimesWithAdjacentSeats(1L, 3, null, null));
+        assertEquals(ErrorCode.MOVIE_NOT_FOUND, exception.getErrorCode());
+        verify(showtimeRepository, never()).findSearchCandidates(any(), any(), any(), anyInt());
+    }
+
     @Test
     void createShowtime_TheaterNotFound() {
         // Arrange
@@ -179,6 +300,7 @@ class ShowtimeServiceImplTest {
         // Assert
         assertNotNull(result);
         verify(showtimeRepository).save(any(Showtime.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -212,6 +334,41 @@ class ShowtimeServiceImplTest {
 
         // Assert
         verify(showtimeRepository).deleteById(1L);
+        verify(seatInventoryManager).evict(1L);
+        verify(waitingRoom).close(1L);
+        verify(catalogVersion).changed();
+    }
+
+    @Test
+    void setWaitingRoom_EnableOpensRoom() {
+        // Arrange
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.save(showtime)).thenReturn(showtime);
+        when(showtimeMapper.toResponse(showtime)).thenReturn(new ShowtimeResponse());
+
+        // Act
+        showtimeService.setWaitingRoom(1L, true);
+
+        // Assert
+        assertTrue(showtime.isWaitingRoom());
+        verify(waitingRoom).open(1L);
+        verify(waitingRoom, never()).close(any());
+    }
+
+    @Test
+    void setWaitingRoom_DisableClosesRoom() {
+        // Arrange
+        showtime.setWaitingRoom(true);
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.save(showtime)).thenReturn(showtime);
+        when(showtimeMapper.toResponse(showtime)).thenReturn(new ShowtimeResponse());
+
+        // Act
+        showtimeService.setWaitingRoom(1L, false);
+
+        // Assert
+        assertFalse(showtime.isWaitingRoom());
+        verify(waitingRoom).close(1L);
     }
 
     @Test
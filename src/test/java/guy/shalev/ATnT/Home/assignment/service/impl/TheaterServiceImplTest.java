@@ -5,18 +5,29 @@ import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
 import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
 import guy.shalev.ATnT.Home.assignment.mapper.TheaterMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterLayoutRequest;
 import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.TheaterRowRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterLayoutResponse;
 import guy.shalev.ATnT.Home.assignment.model.dto.response.TheaterResponse;
 import guy.shalev.ATnT.Home.assignment.model.entities.Movie;
 import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
 import guy.shalev.ATnT.Home.assignment.model.entities.Theater;
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
 import guy.shalev.ATnT.Home.assignment.repository.TheaterRepository;
+import guy.shalev.ATnT.Home.assignment.repository.TheaterRowRepository;
+import guy.shalev.ATnT.Home.assignment.service.catalog.CatalogVersion;
+import guy.shalev.ATnT.Home.assignment.service.pagination.CursorPage;
+import guy.shalev.ATnT.Home.assignment.service.pagination.KeysetPaging;
+import guy.shalev.ATnT.Home.assignment.service.pagination.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +37,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,9 +46,18 @@ class TheaterServiceImplTest {
     @Mock
     private TheaterRepository theaterRepository;
 
+    @Mock
+    private TheaterRowRepository theaterRowRepository;
+
     @Mock
     private TheaterMapper theaterMapper;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(50, 200);
+
     @InjectMocks
     private TheaterServiceImpl theaterService;
 
@@ -80,6 +101,7 @@ class TheaterServiceImplTest {
         assertEquals(theaterResponse.getName(), result.getName());
         assertEquals(theaterResponse.getCapacity(), result.getCapacity());
         verify(theaterRepository).save(any(Theater.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -92,6 +114,7 @@ class TheaterServiceImplTest {
                 () -> theaterService.createTheater(theaterRequest));
         assertEquals(ErrorCode.THEATER_NAME_EXISTS, exception.getErrorCode());
         verify(theaterRepository, never()).save(any(Theater.class));
+        verify(catalogVersion, never()).changed();
     }
 
     @Test
@@ -123,20 +146,18 @@ class TheaterServiceImplTest {
     @Test
     void getAllTheaters_Success() {
         // Arrange
-        List<Theater> theaters = Collections.singletonList(theater);
         List<TheaterResponse> theaterResponses = Collections.singletonList(theaterResponse);
 
-        when(theaterRepository.findAll()).thenReturn(theaters);
-        when(theaterMapper.toResponseList(theaters)).thenReturn(theaterResponses);
+        when(theaterRepository.findPageAfter(5L, Limit.of(51))).thenReturn(theaterResponses);
 
         // Act
-        List<TheaterResponse> results = theaterService.getAllTheaters();
+        CursorPage<TheaterResponse> results = theaterService.getAllTheaters(PageCursor.encode(5L), null);
 
         // Assert
         assertNotNull(results);
-        assertFalse(results.isEmpty());
-        assertEquals(1, results.size());
-        assertEquals(theaterResponse.getId(), results.get(0).getId());
+        assertEquals(1, results.items().size());
+        assertEquals(theaterResponse.getId(), results.items().get(0).getId());
+        assertNull(results.nextCursor());
     }
 
     @Test
@@ -156,6 +177,7 @@ class TheaterServiceImplTest {
         assertEquals(theaterResponse.getId(), result.getId());
         assertEquals(theaterResponse.getName(), result.getName());
         verify(theaterRepository).save(any(Theater.class));
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -195,6 +217,7 @@ class TheaterServiceImplTest {
 
         // Assert
         verify(theaterRepository).deleteById(1L);
+        verify(catalogVersion).changed();
     }
 
     @Test
@@ -235,4 +258,69 @@ class TheaterServiceImplTest {
         assertEquals(ErrorCode.THEATER_IN_USE, exception.getErrorCode());
         verify(theaterRepository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateTheater_CapacityChangeWithLayout_ThrowsException() {
+        // Arrange
+        theaterRequest.setCapacity(120);
+        when(theaterRepository.findById(1L)).thenReturn(Optional.of(theater));
+        when(theaterRepository.findByName("Test Theater")).thenReturn(Optional.of(theater));
+        when(theaterRowRepository.existsByTheaterId(1L)).thenReturn(true);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> theaterService.updateTheater(1L, theaterRequest));
+        assertEquals(ErrorCode.INVALID_THEATER_LAYOUT, exception.getErrorCode());
+        verify(theaterRepository, never()).save(any(Theater.class));
+    }
+
+    @Test
+    void updateLayout_AssignsConsecutiveSeatNumbers() {
+        // Arrange
+        TheaterLayoutRequest request = new TheaterLayoutRequest(List.of(
+                new TheaterRowRequest("Stalls", "A", 40, 2),
+                new TheaterRowRequest("Stalls", "B", 60, 1)));
+        when(theaterRepository.findById(1L)).thenReturn(Optional.of(theater));
+        when(theaterRowRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(theaterMapper.toRowResponseList(anyList())).thenReturn(Collections.emptyList());
+
+        // Act
+        TheaterLayoutResponse result = theaterService.updateLayout(1L, request);
+
+        // Assert
+        assertEquals(100, result.getCapacity());
+        verify(theaterRowRepository).deleteByTheaterId(1L);
+        verify(theaterRowRepository).saveAll(argThat((List<TheaterRow> rows) ->
+                rows.size() == 2
+                        && rows.get(0).getFirstSeatNumber() == 1
+                        && rows.get(1).getFirstSeatNumber() == 41
+                        && rows.get(1).getPreferenceRank() == 1));
+    }
+
+    @Test
+    void updateLayout_SeatCountMismatch_ThrowsException() {
+        // Arrange
+        TheaterLayoutRequest request = new TheaterLayoutRequest(List.of(new TheaterRowRequest("Stalls", "A", 40, 1)));
+        when(theaterRepository.findById(1L)).thenReturn(Optional.of(theater));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> theaterService.updateLayout(1L, request));
+        assertEquals(ErrorCode.INVALID_THEATER_LAYOUT, exception.getErrorCode());
+        verify(theaterRowRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateLayout_DuplicateRowLabel_ThrowsException() {
+        // Arrange
+        TheaterLayoutRequest request = new TheaterLayoutRequest(List.of(
+                new TheaterRowRequest("Stalls", "A", 50, 1),
+                new TheaterRowRequest("Balcony", "A", 50, 2)));
+        when(theaterRepository.findById(1L)).thenReturn(Optional.of(theater));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> theaterService.updateLayout(1L, request));
+        assertEquals(ErrorCode.INVALID_THEATER_LAYOUT, exception.getErrorCode());
+    }
+}
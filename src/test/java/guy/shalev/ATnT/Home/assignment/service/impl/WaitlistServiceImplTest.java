@@ -0,0 +1,205 @@
+package guy.shalev.ATnT.Home.assignment.service.impl;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
+import guy.shalev.ATnT.Home.assignment.mapper.WaitlistMapper;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.WaitlistRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.WaitlistEntryResponse;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.entities.User;
+import guy.shalev.ATnT.Home.assignment.model.entities.WaitlistEntry;
+import guy.shalev.ATnT.Home.assignment.model.enums.WaitlistStatus;
+import guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer;
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import guy.shalev.ATnT.Home.assignment.repository.UserRepository;
+import guy.shalev.ATnT.Home.assignment.repository.WaitlistEntryRepository;
+import guy.shalev.ATnT.Home.assignment.service.waitlist.WaitlistDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceImplTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WaitlistMapper waitlistMapper;
+
+    @Mock
+    private WaitlistDispatcher waitlistDispatcher;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    private User user;
+    private Showtime showtime;
+    private WaitlistEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).username("testUser").build();
+        showtime = Showtime.builder()
+                .id(1L)
+                .startTime(LocalDateTime.now().plusDays(1))
+                .maxSeats(50)
+                .availableSeats(0)
+                .build();
+        entry = WaitlistEntry.builder()
+                .id(7L)
+                .user(user)
+                .showtime(showtime)
+                .seatCount(2)
+                .status(WaitlistStatus.WAITING)
+                .waitingClaim(1L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void joinWaitlist_SoldOut_AddsCustomerBehindEveryoneWaiting() {
+        // Arrange
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(waitlistEntryRepository.existsByUserAndShowtimeIdAndStatus(user, 1L, WaitlistStatus.WAITING))
+                .thenReturn(false);
+        when(waitlistEntryRepository.saveAndFlush(any(WaitlistEntry.class))).thenReturn(entry);
+        when(waitlistMapper.toResponse(entry)).thenReturn(new WaitlistEntryResponse());
+        when(waitlistDispatcher.waitingCount(1L)).thenReturn(3);
+
+        // Act
+        WaitlistEntryResponse result = waitlistService.joinWaitlist("testUser", new WaitlistRequest(1L, 2));
+
+        // Assert
+        assertEquals(4, result.getPosition());
+        verify(waitlistDispatcher).add(new WaitingCustomer(7L, 1L, "testUser", 2));
+    }
+
+    @Test
+    void joinWaitlist_SeatsStillAvailable_ThrowsException() {
+        // Arrange
+        showtime.setAvailableSeats(2);
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> waitlistService.joinWaitlist("testUser", new WaitlistRequest(1L, 2)));
+        assertEquals(ErrorCode.INVALID_REQUEST_PARAMETER, exception.getErrorCode());
+        verify(waitlistEntryRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void joinWaitlist_AlreadyWaiting_ThrowsException() {
+        // Arrange
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(waitlistEntryRepository.existsByUserAndShowtimeIdAndStatus(user, 1L, WaitlistStatus.WAITING))
+                .thenReturn(true);
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> waitlistService.joinWaitlist("testUser", new WaitlistRequest(1L, 2)));
+        assertEquals(ErrorCode.ALREADY_WAITLISTED, exception.getErrorCode());
+    }
+
+    @Test
+    void joinWaitlist_ConcurrentJoinCommittedFirst_ThrowsConflict() {
+        // Arrange
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(waitlistEntryRepository.existsByUserAndShowtimeIdAndStatus(user, 1L, WaitlistStatus.WAITING))
+                .thenReturn(false);
+        when(waitlistEntryRepository.saveAndFlush(any(WaitlistEntry.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_waitlist_entries_showtime_waiting"));
+
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> waitlistService.joinWaitlist("testUser", new WaitlistRequest(1L, 2)));
+        assertEquals(ErrorCode.ALREADY_WAITLISTED, exception.getErrorCode());
+        verify(waitlistDispatcher, never()).add(any());
+    }
+
+    @Test
+    void joinWaitlist_ShowtimeStarted_ThrowsException() {
+        // Arrange
+        showtime.setStartTime(LocalDateTime.now().minusMinutes(5));
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> waitlistService.joinWaitlist("testUser", new WaitlistRequest(1L, 2)));
+        assertEquals(ErrorCode.BOOKING_CLOSED, exception.getErrorCode());
+    }
+
+    @Test
+    void leaveWaitlist_RemovesCustomerFromLine() {
+        // Arrange
+        when(waitlistEntryRepository.findById(7L)).thenReturn(Optional.of(entry));
+
+        // Act
+        waitlistService.leaveWaitlist("testUser", 7L);
+
+        // Assert
+        assertEquals(WaitlistStatus.CANCELLED, entry.getStatus());
+        assertNull(entry.getWaitingClaim());
+        verify(waitlistEntryRepository).save(entry);
+        verify(waitlistDispatcher).remove(1L, 7L);
+    }
+
+    @Test
+    void leaveWaitlist_InsideTransaction_LeavesLineOnlyOnCommit() {
+        // Arrange
+        when(waitlistEntryRepository.findById(7L)).thenReturn(Optional.of(entry));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        waitlistService.leaveWaitlist("testUser", 7L);
+
+        // Assert
+        verify(waitlistDispatcher, never()).remove(any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(waitlistDispatcher).remove(1L, 7L);
+    }
+
+    @Test
+    void leaveWaitlist_AnotherUsersEntry_ThrowsException() {
+        // Arrange
+        when(waitlistEntryRepository.findById(7L)).thenReturn(Optional.of(entry));
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> waitlistService.leaveWaitlist("someoneElse", 7L));
+        verify(waitlistDispatcher, never()).remove(any(), any());
+    }
+}
@@ -0,0 +1,86 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opt-in benchmark for best-available allocation in large, nearly sold-out auditoriums:
+ * {@code mvn test -Dtest=SeatAllocatorBenchmarkTest -Dload-test=true}.
+ * Each auditorium is 98% booked at random, plus a checkerboard where no two adjacent seats are free, which makes
+ * every search scan all rows. Reports the average time per allocation.
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class SeatAllocatorBenchmarkTest {
+
+    private static final int SEATS_PER_ROW = 100;
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final double MAX_MICROS_PER_CALL = 1_000;
+
+    @Test
+    void allocationInNearlySoldOutAuditoriums() {
+        // Arrange
+        Random random = new Random(42);
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int seats : new int[]{2_000, 10_000, 50_000}) {
+            BitSet nearlySoldOut = new BitSet();
+            nearlySoldOut.set(1, seats + 1);
+            for (int i = 0; i < seats / 50; i++) {
+                nearlySoldOut.clear(1 + random.nextInt(seats));
+            }
+            BitSet checkerboard = new BitSet();
+            for (int seat = 1; seat <= seats; seat += 2) {
+                checkerboard.set(seat);
+            }
+            scenarios.add(new Scenario(seats + " seats, 98% booked", seats, nearlySoldOut, 2));
+            scenarios.add(new Scenario(seats + " seats, no pair free", seats, checkerboard, 2));
+        }
+
+        // Act & Assert
+        System.out.printf("%-28s %10s %12s%n", "auditorium", "found", "us/call");
+        for (Scenario scenario : scenarios) {
+            double micros = scenario.measure();
+            assertTrue(micros < MAX_MICROS_PER_CALL, scenario.label() + " took " + micros + " us per allocation");
+        }
+    }
+
+    private static List<TheaterRow> rows(int seats) {
+        List<TheaterRow> rows = new ArrayList<>();
+        for (int i = 0; i < seats / SEATS_PER_ROW; i++) {
+            rows.add(TheaterRow.builder()
+                    .section("Main")
+                    .rowLabel("R" + i)
+                    .firstSeatNumber(i * SEATS_PER_ROW + 1)
+                    .seatCount(SEATS_PER_ROW)
+                    .preferenceRank(i + 1)
+                    .build());
+        }
+        return rows;
+    }
+
+    private record Scenario(String label, int seats, BitSet booked, int quantity) {
+        double measure() {
+            long[] words = booked.toLongArray();
+            List<TheaterRow> rows = rows(seats);
+            boolean found = false;
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                found = SeatAllocator.findBestBlock(words, seats, rows, quantity).isPresent();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                found = SeatAllocator.findBestBlock(words, seats, rows, quantity).isPresent();
+            }
+            double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_CALLS;
+            System.out.printf("%-28s %10s %12.2f%n", label, found, micros);
+            return micros;
+        }
+    }
+}
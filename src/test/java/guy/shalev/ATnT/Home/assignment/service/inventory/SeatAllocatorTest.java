@@ -0,0 +1,138 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.model.entities.TheaterRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatAllocatorTest {
+
+    @Test
+    void findBestBlock_EmptyRow_PicksCentre() {
+        // Arrange
+        List<TheaterRow> rows = List.of(row("A", 1, 20, 1));
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(new long[0], 20, rows, 4);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(List.of(9, 10, 11, 12), result.get().seatNumbers());
+    }
+
+    @Test
+    void findBestBlock_PrefersLowerRank() {
+        // Arrange
+        BitSet booked = new BitSet();
+        booked.set(1, 9);
+        booked.set(11, 19);
+        List<TheaterRow> rows = List.of(row("A", 1, 10, 2), row("B", 11, 10, 1));
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(booked.toLongArray(), 20, rows, 2);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("B", result.get().row().getRowLabel());
+        assertEquals(List.of(19, 20), result.get().seatNumbers());
+    }
+
+    @Test
+    void findBestBlock_SameRank_PicksMostCentralBlock() {
+        // Arrange
+        BitSet booked = new BitSet();
+        booked.set(4, 11);
+        List<TheaterRow> rows = List.of(row("A", 1, 10, 1), row("B", 11, 10, 1));
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(booked.toLongArray(), 20, rows, 3);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("B", result.get().row().getRowLabel());
+        assertEquals(List.of(14, 15, 16), result.get().seatNumbers());
+    }
+
+    @Test
+    void findBestBlock_RunAcrossWordBoundaryInNearlySoldOutAuditorium() {
+        // Arrange
+        List<TheaterRow> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(row("R" + i, i * 100 + 1, 100, i + 1));
+        }
+        BitSet booked = new BitSet();
+        booked.set(1, 10_001);
+        booked.clear(6_140, 6_148);
+        booked.clear(9_050);
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(booked.toLongArray(), 10_000, rows, 5);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("R61", result.get().row().getRowLabel());
+        assertEquals(List.of(6_143, 6_144, 6_145, 6_146, 6_147), result.get().seatNumbers());
+    }
+
+    @Test
+    void findBestBlock_NoRunLongEnough_ReturnsEmpty() {
+        // Arrange
+        BitSet booked = new BitSet();
+        booked.set(1, 21);
+        booked.clear(5, 8);
+        booked.clear(12, 15);
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(
+                booked.toLongArray(), 20, List.of(row("A", 1, 20, 1)), 4);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findBestBlock_IgnoresSeatsAboveMaxSeats() {
+        // Arrange
+        BitSet booked = new BitSet();
+        booked.set(1, 9);
+
+        // Act
+        Optional<SeatAllocator.SeatBlock> result = SeatAllocator.findBestBlock(
+                booked.toLongArray(), 10, List.of(row("A", 1, 20, 1)), 3);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void nextSetAndClearBit_MatchBitSet() {
+        // Arrange
+        BitSet booked = new BitSet();
+        booked.set(3, 70);
+        booked.set(130);
+        booked.set(190, 256);
+        long[] words = booked.toLongArray();
+
+        // Act & Assert
+        for (int from = 0; from < 300; from++) {
+            assertEquals(Math.min(booked.nextClearBit(from), 300), SeatAllocator.nextClearBit(words, from, 300));
+            int nextSet = booked.nextSetBit(from);
+            assertEquals(nextSet < 0 ? 300 : nextSet, SeatAllocator.nextSetBit(words, from, 300));
+        }
+    }
+
+    private TheaterRow row(String label, int firstSeatNumber, int seatCount, int preferenceRank) {
+        return TheaterRow.builder()
+                .section("Main")
+                .rowLabel(label)
+                .firstSeatNumber(firstSeatNumber)
+                .seatCount(seatCount)
+                .preferenceRank(preferenceRank)
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package guy.shalev.ATnT.Home.assignment.service.inventory;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.model.entities.Showtime;
+import guy.shalev.ATnT.Home.assignment.model.projection.BookedSeat;
+import guy.shalev.ATnT.Home.assignment.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryManagerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private SeatInventoryManager seatInventoryManager;
+
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        showtime = Showtime.builder()
+                .id(1L)
+                .maxSeats(50)
+                .availableSeats(50)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(seatInventoryManager);
+    }
+
+    @Test
+    void getInventory_LoadsBookedSeatsOnce() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of(3, 7));
+
+        // Act
+        SeatInventory first = seatInventoryManager.getInventory(showtime);
+        SeatInventory second = seatInventoryManager.getInventory(showtime);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(first.isBooked(3));
+        assertTrue(first.isBooked(7));
+        assertFalse(first.isBooked(4));
+        verify(bookingRepository, times(1)).findBookedSeatNumbers(1L);
+    }
+
+    @Test
+    void getInventories_LoadsOnlyMissingShowtimesInOneQuery() {
+        // Arrange
+        Showtime other = Showtime.builder().id(2L).maxSeats(20).availableSeats(20).build();
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of(3));
+        SeatInventory loaded = seatInventoryManager.getInventory(showtime);
+        when(bookingRepository.findBookedSeats(Set.of(2L))).thenReturn(List.of(new BookedSeat(2L, 9)));
+
+        // Act
+        Map<Long, SeatInventory> result = seatInventoryManager.getInventories(List.of(showtime, other));
+
+        // Assert
+        assertSame(loaded, result.get(1L));
+        assertTrue(result.get(2L).isBooked(9));
+        assertEquals(20, result.get(2L).getMaxSeats());
+        assertSame(result.get(2L), seatInventoryManager.getInventory(other));
+    }
+
+    @Test
+    void claimSeats_AllOrNothing() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of(5));
+
+        // Act
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> seatInventoryManager.claimSeats(showtime, List.of(4, 5, 6)));
+
+        // Assert
+        assertEquals(ErrorCode.SEAT_ALREADY_BOOKED, exception.getErrorCode());
+        SeatInventory inventory = seatInventoryManager.getInventory(showtime);
+        assertFalse(inventory.isBooked(4));
+        assertFalse(inventory.isBooked(6));
+        assertEquals(1, inventory.bookedCount());
+    }
+
+    @Test
+    void claimSeats_ReleasedWhenTransactionRollsBack() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventoryManager.claimSeats(showtime, List.of(1, 2));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        SeatInventory inventory = seatInventoryManager.getInventory(showtime);
+        assertFalse(inventory.isBooked(1));
+        assertFalse(inventory.isBooked(2));
+    }
+
+    @Test
+    void claimSeats_KeptWhenTransactionCommits() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventoryManager.claimSeats(showtime, List.of(1, 2));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        SeatInventory inventory = seatInventoryManager.getInventory(showtime);
+        assertTrue(inventory.isBooked(1));
+        assertTrue(inventory.isBooked(2));
+    }
+
+    @Test
+    void getVersion_MovesOnlyWhenClaimCommits() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of());
+        long before = seatInventoryManager.getVersion();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventoryManager.claimSeats(showtime, List.of(1));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        long afterRollback = seatInventoryManager.getVersion();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(seatInventoryManager);
+        TransactionSynchronizationManager.initSynchronization();
+        seatInventoryManager.claimSeats(showtime, List.of(1));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(before, afterRollback);
+        assertTrue(seatInventoryManager.getVersion() > before);
+    }
+
+    @Test
+    void evict_InsideTransaction_KeepsInventoryUntilCommit() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of(3));
+        SeatInventory loaded = seatInventoryManager.getInventory(showtime);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventoryManager.evict(1L);
+        SeatInventory beforeCommit = seatInventoryManager.findLoadedInventory(1L).orElseThrow();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertSame(loaded, beforeCommit);
+        assertTrue(seatInventoryManager.findLoadedInventory(1L).isEmpty());
+    }
+
+    @Test
+    void evict_TransactionRollsBack_KeepsInventory() {
+        // Arrange
+        when(bookingRepository.findBookedSeatNumbers(1L)).thenReturn(List.of(3));
+        SeatInventory loaded = seatInventoryManager.getInventory(showtime);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventoryManager.evict(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertSame(loaded, seatInventoryManager.findLoadedInventory(1L).orElseThrow());
+    }
+}
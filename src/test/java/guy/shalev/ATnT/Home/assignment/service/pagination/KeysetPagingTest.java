@@ -0,0 +1,42 @@
+package guy.shalev.ATnT.Home.assignment.service.pagination;
+
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+    private final KeysetPaging keysetPaging = new KeysetPaging(50, 200);
+
+    @Test
+    void pageSize_DefaultsAndCaps() {
+        // Act & Assert
+        assertEquals(50, keysetPaging.pageSize(null));
+        assertEquals(10, keysetPaging.pageSize(10));
+        assertEquals(200, keysetPaging.pageSize(10_000));
+        assertThrows(BadRequestException.class, () -> keysetPaging.pageSize(0));
+    }
+
+    @Test
+    void fetchLimit_ReadsOneExtraRow() {
+        // Act & Assert
+        assertEquals(Limit.of(51), KeysetPaging.fetchLimit(50));
+    }
+
+    @Test
+    void cursorPage_DropsExtraRowAndPointsAfterLastReturned() {
+        // Act
+        CursorPage<Long> page = CursorPage.of(List.of(4L, 7L, 9L), 2, Long::longValue, rows -> rows);
+        CursorPage<Long> lastPage = CursorPage.of(List.of(4L, 7L), 2, Long::longValue, rows -> rows);
+
+        // Assert
+        assertEquals(List.of(4L, 7L), page.items());
+        assertEquals(7L, PageCursor.decode(page.nextCursor()));
+        assertEquals(List.of(4L, 7L), lastPage.items());
+        assertFalse(lastPage.hasNext());
+    }
+}
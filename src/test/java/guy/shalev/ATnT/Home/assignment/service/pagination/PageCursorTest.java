@@ -0,0 +1,45 @@
+package guy.shalev.ATnT.Home.assignment.service.pagination;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encode_RoundTripsThroughDecode() {
+        // Act
+        String cursor = PageCursor.encode(12345L);
+
+        // Assert
+        assertEquals(12345L, PageCursor.decode(cursor));
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "cursor must be safe in a query string");
+    }
+
+    @Test
+    void decode_FirstPageWithoutCursor() {
+        // Act & Assert
+        assertEquals(0L, PageCursor.decode(null));
+        assertEquals(0L, PageCursor.decode(""));
+    }
+
+    @Test
+    void decode_RejectsMalformedCursors() {
+        // Arrange
+        String notBase64 = "%%%";
+        String wrongPrefix = Base64.getUrlEncoder().encodeToString("x:5".getBytes(StandardCharsets.US_ASCII));
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:abc".getBytes(StandardCharsets.US_ASCII));
+        String negative = Base64.getUrlEncoder().encodeToString("id:-1".getBytes(StandardCharsets.US_ASCII));
+
+        // Act & Assert
+        for (String cursor : new String[]{notBase64, wrongPrefix, notANumber, negative}) {
+            BadRequestException exception = assertThrows(BadRequestException.class, () -> PageCursor.decode(cursor));
+            assertEquals(ErrorCode.INVALID_PAGE_CURSOR, exception.getErrorCode());
+        }
+    }
+}
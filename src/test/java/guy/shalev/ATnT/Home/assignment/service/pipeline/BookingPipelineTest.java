@@ -0,0 +1,66 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingPipelineTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    private BookingPipeline bookingPipeline;
+
+    @BeforeEach
+    void setUp() {
+        bookingPipeline = new BookingPipeline(bookingService, true, 1024, 64, 4, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingPipeline.stop();
+    }
+
+    @Test
+    void submit_DrainedLanesAreDropped() throws Exception {
+        // Arrange
+        when(bookingService.createBookingBatch(any(), anyList())).thenAnswer(invocation -> {
+            List<BookingCommand> commands = invocation.getArgument(1);
+            return commands.stream().map(command -> BookingOutcome.success(List.of(new BookingResponse()))).toList();
+        });
+
+        // Act
+        List<CompletableFuture<List<BookingResponse>>> results = new ArrayList<>();
+        for (long showtimeId = 1; showtimeId <= 50; showtimeId++) {
+            results.add(bookingPipeline.submit("customer", new BookingRequest(showtimeId, List.of(new SeatRequest(1)))));
+        }
+        for (CompletableFuture<List<BookingResponse>> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bookingPipeline.laneCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, bookingPipeline.laneCount());
+    }
+}
@@ -0,0 +1,96 @@
+package guy.shalev.ATnT.Home.assignment.service.pipeline;
+
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.NotFoundException;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingTicketResponse;
+import guy.shalev.ATnT.Home.assignment.model.enums.BookingTicketStatus;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTicketRegistryTest {
+
+    private static final String USERNAME = "customer";
+    private static final BookingRequest REQUEST = new BookingRequest(1L, List.of(new SeatRequest(1)));
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingPipeline bookingPipeline;
+
+    private BookingTicketRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+    }
+
+    @Test
+    void awaitTicket_Finished_HasCompletedAt() {
+        // Arrange
+        registry = new BookingTicketRegistry(bookingService, bookingPipeline, 4, 100, 600, 60_000, false);
+        when(bookingService.createBooking(eq(USERNAME), any())).thenReturn(List.of(new BookingResponse()));
+
+        for (int i = 0; i < 200; i++) {
+            String ticketId = registry.submit(USERNAME, REQUEST).getTicketId();
+
+            // Act
+            BookingTicketResponse response = registry.awaitTicket(ticketId, USERNAME, Duration.ofSeconds(5)).join();
+
+            // Assert
+            assertEquals(BookingTicketStatus.CONFIRMED, response.getStatus());
+            assertNotNull(response.getCompletedAt());
+        }
+    }
+
+    @Test
+    void getTicket_RetentionElapsed_PurgesTicketWithoutNewSubmissions() throws Exception {
+        // Arrange
+        registry = new BookingTicketRegistry(bookingService, bookingPipeline, 1, 100, 0, 60_000, false);
+        when(bookingPipeline.isEnabled()).thenReturn(true);
+        when(bookingPipeline.submit(USERNAME, REQUEST))
+                .thenReturn(CompletableFuture.completedFuture(List.of(new BookingResponse())));
+        String ticketId = registry.submit(USERNAME, REQUEST).getTicketId();
+        Thread.sleep(5);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> registry.getTicket(ticketId, USERNAME));
+        assertEquals(0, registry.ticketCount());
+    }
+
+    @Test
+    void sweep_RetentionElapsed_PurgesTicketsNobodyLooksUp() throws Exception {
+        // Arrange
+        registry = new BookingTicketRegistry(bookingService, bookingPipeline, 1, 100, 0, 20, false);
+        when(bookingPipeline.isEnabled()).thenReturn(true);
+        when(bookingPipeline.submit(USERNAME, REQUEST))
+                .thenReturn(CompletableFuture.completedFuture(List.of(new BookingResponse())));
+
+        // Act
+        registry.submit(USERNAME, REQUEST);
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.ticketCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, registry.ticketCount());
+    }
+}
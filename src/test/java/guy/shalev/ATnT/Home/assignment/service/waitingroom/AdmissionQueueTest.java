@@ -0,0 +1,82 @@
+package guy.shalev.ATnT.Home.assignment.service.waitingroom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionQueueTest {
+
+    // 10 admissions per second: one every 100 ms, with at most 10 banked while idle
+    private final AdmissionQueue queue = new AdmissionQueue(10, 0);
+
+    @Test
+    void join_IdleRoomAdmitsOneSecondOfBurst() {
+        // Arrange
+        for (int i = 0; i < 12; i++) {
+            queue.join(0);
+        }
+
+        // Act
+        long admitted = queue.admittedThrough(0);
+
+        // Assert
+        assertEquals(10, admitted);
+        assertEquals(2, queue.waiting(0));
+    }
+
+    @Test
+    void admittedThrough_MovesAtConfiguredRate() {
+        // Arrange
+        for (int i = 0; i < 40; i++) {
+            queue.join(0);
+        }
+
+        // Act
+        long afterHalfSecond = queue.admittedThrough(500);
+        long afterOneSecond = queue.admittedThrough(1_000);
+        long afterOneAndAHalf = queue.admittedThrough(1_550);
+
+        // Assert
+        assertEquals(15, afterHalfSecond);
+        assertEquals(20, afterOneSecond);
+        assertEquals(25, afterOneAndAHalf);
+    }
+
+    @Test
+    void admittedThrough_NeverPassesTheBackOfTheLine() {
+        // Arrange
+        long first = queue.join(0);
+        long second = queue.join(0);
+
+        // Act
+        long admitted = queue.admittedThrough(60_000);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(2, admitted);
+        assertEquals(0, queue.waiting(60_000));
+    }
+
+    @Test
+    void join_IdleTimeBanksAtMostOneSecond() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            queue.join(0);
+        }
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            queue.join(60_000);
+        }
+
+        // Assert
+        assertEquals(20, queue.admittedThrough(60_000));
+        assertEquals(20, queue.waiting(60_000));
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionQueue(0, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package guy.shalev.ATnT.Home.assignment.service.waitingroom;
+
+import guy.shalev.ATnT.Home.assignment.repository.ShowtimeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    private WaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoom = new WaitingRoom(showtimeRepository, 20, 300, 100_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void open_InsideTransaction_TakesEffectOnCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        waitingRoom.open(1L);
+        boolean openBeforeCommit = waitingRoom.isOpen(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertFalse(openBeforeCommit);
+        assertTrue(waitingRoom.isOpen(1L));
+    }
+
+    @Test
+    void close_TransactionRollsBack_KeepsRoomOpen() {
+        // Arrange
+        waitingRoom.open(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        waitingRoom.close(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertTrue(waitingRoom.isOpen(1L));
+    }
+}
@@ -0,0 +1,212 @@
+package guy.shalev.ATnT.Home.assignment.service.waitlist;
+
+import guy.shalev.ATnT.Home.assignment.exception.ErrorCode;
+import guy.shalev.ATnT.Home.assignment.exception.exceptions.ConflictException;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.BookingRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.request.SeatRequest;
+import guy.shalev.ATnT.Home.assignment.model.dto.response.BookingResponse;
+import guy.shalev.ATnT.Home.assignment.model.projection.WaitingCustomer;
+import guy.shalev.ATnT.Home.assignment.repository.WaitlistEntryRepository;
+import guy.shalev.ATnT.Home.assignment.service.BookingService;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventory;
+import guy.shalev.ATnT.Home.assignment.service.inventory.SeatInventoryManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistDispatcherTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private SeatInventoryManager seatInventoryManager;
+
+    @Mock
+    private ObjectProvider<BookingService> bookingServiceProvider;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WaitlistDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new WaitlistDispatcher(waitlistEntryRepository, seatInventoryManager, bookingServiceProvider,
+                transactionManager, 200);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(waitlistEntryRepository.markOffered(any(), any(), any())).thenReturn(1);
+    }
+
+    private static BookingRequest request(Integer... seatNumbers) {
+        return new BookingRequest(1L, List.of(seatNumbers).stream().map(SeatRequest::new).toList());
+    }
+
+    private static List<BookingResponse> hold(String orderReference) {
+        BookingResponse response = new BookingResponse();
+        response.setOrderReference(orderReference);
+        return List.of(response);
+    }
+
+    @Test
+    void dispatch_OffersReleasedSeatsInJoinOrder() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(2L, 1L, "second", 1));
+        dispatcher.add(new WaitingCustomer(1L, 1L, "first", 2));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(bookingService.holdSeats("first", request(5, 6))).thenReturn(hold("order-1"));
+        when(bookingService.holdSeats("second", request(7))).thenReturn(hold("order-2"));
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(7, 5));
+        dispatcher.seatsReleased(1L, List.of(6));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(waitlistEntryRepository).markOffered(eq(1L), eq("order-1"), any(LocalDateTime.class));
+        verify(waitlistEntryRepository).markOffered(eq(2L), eq("order-2"), any(LocalDateTime.class));
+        assertEquals(0, dispatcher.waitingCount(1L));
+    }
+
+    @Test
+    void dispatch_SkipsCustomersWhosePartyDoesNotFit() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(1L, 1L, "family", 4));
+        dispatcher.add(new WaitingCustomer(2L, 1L, "single", 1));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(bookingService.holdSeats("single", request(3))).thenReturn(hold("order-1"));
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(3));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(bookingService, never()).holdSeats(eq("family"), any());
+        verify(waitlistEntryRepository).markOffered(eq(2L), eq("order-1"), any(LocalDateTime.class));
+        assertEquals(Optional.of(1), dispatcher.position(1L, 1L));
+    }
+
+    @Test
+    void dispatch_SeatTakenMeanwhile_OffersRemainingSeatsToNextCustomer() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(1L, 1L, "first", 1));
+        dispatcher.add(new WaitingCustomer(2L, 1L, "second", 1));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new SeatInventory(10, List.of(5))));
+        when(bookingService.holdSeats("first", request(5)))
+                .thenThrow(new ConflictException(ErrorCode.SEAT_ALREADY_BOOKED, "Seat 5 is already booked"));
+        when(bookingService.holdSeats("second", request(6))).thenReturn(hold("order-2"));
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(5, 6));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(waitlistEntryRepository, never()).markOffered(eq(1L), any(), any());
+        verify(waitlistEntryRepository).markOffered(eq(2L), eq("order-2"), any(LocalDateTime.class));
+        assertEquals(Optional.of(1), dispatcher.position(1L, 1L));
+    }
+
+    @Test
+    void dispatch_SingleSeatsReleasedSeparately_AreKeptUntilThePartyFits() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(1L, 1L, "pair", 2));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(bookingService.holdSeats("pair", request(5, 6))).thenReturn(hold("order-1"));
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(5));
+        dispatcher.dispatch();
+        dispatcher.seatsReleased(1L, List.of(6));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(bookingService, times(1)).holdSeats(any(), any());
+        verify(waitlistEntryRepository).markOffered(eq(1L), eq("order-1"), any(LocalDateTime.class));
+        assertEquals(0, dispatcher.waitingCount(1L));
+    }
+
+    @Test
+    void dispatch_OfferNotRecorded_RollsBackHoldAndKeepsCustomerWaiting() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(1L, 1L, "first", 1));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(bookingService.holdSeats("first", request(5))).thenReturn(hold("order-1"));
+        when(waitlistEntryRepository.markOffered(eq(1L), eq("order-1"), any(LocalDateTime.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"))
+                .thenReturn(1);
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(5));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        assertEquals(Optional.of(1), dispatcher.position(1L, 1L));
+
+        // Act - the seat is still queued for the next pass
+        dispatcher.dispatch();
+
+        // Assert
+        verify(transactionManager).commit(any());
+        assertEquals(0, dispatcher.waitingCount(1L));
+    }
+
+    @Test
+    void dispatch_CustomerLeftMeanwhile_RollsBackHoldAndOffersSeatsToNextCustomer() {
+        // Arrange
+        dispatcher.add(new WaitingCustomer(1L, 1L, "gone", 1));
+        dispatcher.add(new WaitingCustomer(2L, 1L, "next", 1));
+        when(bookingServiceProvider.getObject()).thenReturn(bookingService);
+        when(seatInventoryManager.findLoadedInventory(1L)).thenReturn(Optional.empty());
+        when(bookingService.holdSeats("gone", request(5))).thenReturn(hold("order-1"));
+        when(bookingService.holdSeats("next", request(5))).thenReturn(hold("order-2"));
+        when(waitlistEntryRepository.markOffered(eq(1L), eq("order-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        dispatcher.seatsReleased(1L, List.of(5));
+        dispatcher.dispatch();
+
+        // Assert
+        verify(transactionManager).commit(argThat(TransactionStatus::isRollbackOnly));
+        verify(waitlistEntryRepository).markOffered(eq(2L), eq("order-2"), any(LocalDateTime.class));
+        assertEquals(0, dispatcher.waitingCount(1L));
+    }
+
+    @Test
+    void seatsReleased_NobodyWaiting_OffersNothing() {
+        // Act
+        dispatcher.seatsReleased(1L, List.of(5));
+        dispatcher.dispatch();
+
+        // Assert
+        verifyNoInteractions(bookingServiceProvider, waitlistEntryRepository);
+    }
+}